@@ -0,0 +1,90 @@
+package com.tdea.proyecto_final.construccion_de_software.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tdea.proyecto_final.construccion_de_software.cache.TravelCacheInvalidator;
+import com.tdea.proyecto_final.construccion_de_software.dto.TravelSearchResult;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.mapper.TravelMapper;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelSearchText;
+import com.tdea.proyecto_final.construccion_de_software.search.SuggestionIndex;
+import com.tdea.proyecto_final.construccion_de_software.search.TravelSearchIndex;
+import com.tdea.proyecto_final.construccion_de_software.service.DashboardService;
+import com.tdea.proyecto_final.construccion_de_software.service.ManageTravelsService;
+import com.tdea.proyecto_final.construccion_de_software.service.SeatInventory;
+import com.tdea.proyecto_final.construccion_de_software.service.WaitlistService;
+
+/**
+ * Filtros en memoria de ManageTravelsService.filterTravels sobre catálogos
+ * sintéticos. El repositorio se sustituye por un mock que devuelve la lista ya
+ * construida, así que solo se mide el recorrido y los predicados. También
+ * mide el autocompletado de TravelSearchIndex sobre el mismo catálogo.
+ * (El filtro por destino y ManageBookingsService.filterBookings se resuelven
+ * en SQL; su costo se mide con EndpointQueryCountTest y las pruebas de carga,
+ * no aquí.)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class FilterBenchmark {
+
+  // Número de viajes del catálogo
+  @Param({ "10000", "100000", "1000000" })
+  private int size;
+
+  private ManageTravelsService manageTravelsService;
+  private TravelSearchIndex travelSearchIndex;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<TravelEntity> travels = SyntheticData.travels(size);
+    TravelRepository travelRepository = mock(TravelRepository.class);
+    when(travelRepository.findAll()).thenReturn(travels);
+    when(travelRepository.findSearchTexts()).thenReturn(travels.stream()
+        .map(travel -> new TravelSearchText(travel.getId(), travel.getDestination(), travel.getItinerary()))
+        .collect(Collectors.toList()));
+    travelSearchIndex = new TravelSearchIndex(travelRepository);
+    travelSearchIndex.rebuild();
+    manageTravelsService = new ManageTravelsService(travelRepository, new TravelMapper(),
+        mock(TravelCacheInvalidator.class), mock(DashboardService.class), travelSearchIndex,
+        mock(SuggestionIndex.class), mock(SeatInventory.class), mock(WaitlistService.class));
+  }
+
+  @Benchmark
+  public List<TravelSearchResult> typeaheadPrefix() {
+    return travelSearchIndex.search("barich", 10);
+  }
+
+  @Benchmark
+  public List<TravelSearchResult> typeaheadFuzzy() {
+    return travelSearchIndex.search("barichala", 10);
+  }
+
+  @Benchmark
+  public List<TravelEntity> byDateRangeAndStatus() {
+    return manageTravelsService.filterTravels(null, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 9, 30), "active");
+  }
+}
@@ -0,0 +1,61 @@
+package com.tdea.proyecto_final.construccion_de_software.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.mapper.BookingMapper;
+import com.tdea.proyecto_final.construccion_de_software.mapper.PaymentMapper;
+
+/**
+ * Costo de BookingMapper.toResponse y PaymentMapper.toPaymentSummary sobre
+ * todas las entidades del conjunto sintético. Con -prof gc se obtiene además
+ * la memoria asignada por operación (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class MapperBenchmark {
+
+  @Param({ "10000", "100000", "1000000" })
+  private int size;
+
+  private final BookingMapper bookingMapper = new BookingMapper();
+  private final PaymentMapper paymentMapper = new PaymentMapper();
+  private SyntheticData data;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    data = SyntheticData.generate(size);
+  }
+
+  @Benchmark
+  public void bookingToResponse(Blackhole blackhole) {
+    for (BookingEntity booking : data.bookings) {
+      blackhole.consume(bookingMapper.toResponse(booking));
+    }
+  }
+
+  @Benchmark
+  public Object paymentSummary() {
+    return paymentMapper.toPaymentSummary(1L, new BigDecimal("1000000.00"), new BigDecimal("2500.00"),
+        data.payments);
+  }
+}
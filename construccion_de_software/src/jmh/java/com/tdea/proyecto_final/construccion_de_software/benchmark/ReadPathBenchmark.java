@@ -0,0 +1,144 @@
+package com.tdea.proyecto_final.construccion_de_software.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.ConstruccionDeSoftwareApplication;
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingResponse;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentResponse;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.mapper.BookingMapper;
+import com.tdea.proyecto_final.construccion_de_software.mapper.PaymentMapper;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.PaymentRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Listados de reservas y pagos por los dos caminos: entidades administradas
+ * más el mapper (como antes) contra las proyecciones BookingRow/PaymentRow.
+ * Levanta la aplicación sobre H2 en memoria (la configuración de
+ * src/test/resources) con el conjunto sintético y cada operación es una
+ * petición completa dentro de una transacción de solo lectura. Con -prof gc,
+ * gc.alloc.rate.norm es la memoria asignada por petición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ReadPathBenchmark {
+
+  // Itinerario de tamaño realista; el de SyntheticData es una sola frase
+  private static final String ITINERARY = "Día 1: llegada y traslado al hotel. Día 2: recorrido por el centro "
+      .repeat(8);
+
+  // Número de reservas; dos pagos por reserva
+  @Param({ "1000", "10000" })
+  private int size;
+
+  private ConfigurableApplicationContext context;
+  private TransactionTemplate readOnly;
+  private BookingRepository bookingRepository;
+  private PaymentRepository paymentRepository;
+  private BookingMapper bookingMapper;
+  private PaymentMapper paymentMapper;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(ConstruccionDeSoftwareApplication.class)
+        .properties("server.port=0", "logging.level.root=WARN",
+            "spring.jpa.properties.hibernate.generate_statistics=false",
+            // La base la cierra el contexto, no el apagado de la JVM
+            "spring.datasource.url=jdbc:h2:mem:read_path;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE")
+        .run();
+    seed(SyntheticData.generate(size));
+
+    readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnly.setReadOnly(true);
+    bookingRepository = context.getBean(BookingRepository.class);
+    paymentRepository = context.getBean(PaymentRepository.class);
+    bookingMapper = context.getBean(BookingMapper.class);
+    paymentMapper = context.getBean(PaymentMapper.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<BookingResponse> bookingsFromEntities() {
+    return readOnly.execute(status -> bookingRepository.findAll().stream()
+        .map(bookingMapper::toResponse)
+        .collect(Collectors.toList()));
+  }
+
+  @Benchmark
+  public List<BookingResponse> bookingsFromRows() {
+    return readOnly.execute(status -> bookingMapper.toResponses(bookingRepository.findAllRows()));
+  }
+
+  @Benchmark
+  public List<PaymentResponse> paymentsFromEntities() {
+    return readOnly.execute(status -> paymentRepository.findAll().stream()
+        .map(paymentMapper::toResponse)
+        .collect(Collectors.toList()));
+  }
+
+  @Benchmark
+  public List<PaymentResponse> paymentsFromRows() {
+    return readOnly.execute(status -> paymentRepository.findAllRows().stream()
+        .map(paymentMapper::toResponse)
+        .collect(Collectors.toList()));
+  }
+
+  // Los ids sintéticos se descartan para que los asigne el generador
+  private void seed(SyntheticData data) {
+    EntityManager entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+    entityManager.getTransaction().begin();
+    for (UserEntity user : data.users) {
+      user.setId(null);
+      entityManager.persist(user);
+    }
+    for (TravelEntity travel : data.travels) {
+      travel.setId(null);
+      travel.setItinerary(travel.getItinerary() + ". " + ITINERARY);
+      entityManager.persist(travel);
+    }
+    for (BookingEntity booking : data.bookings) {
+      booking.setId(null);
+      entityManager.persist(booking);
+    }
+    for (PaymentEntity payment : data.payments) {
+      payment.setId(null);
+      entityManager.persist(payment);
+    }
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+}
@@ -0,0 +1,119 @@
+package com.tdea.proyecto_final.construccion_de_software.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+
+/**
+ * Grafo de entidades en memoria para los benchmarks, siempre el mismo para un
+ * tamaño dado (semilla fija) para que los resultados sean comparables entre
+ * commits.
+ */
+final class SyntheticData {
+
+  private static final String[] DESTINATIONS = { "Cartagena", "Medellín", "Bogotá", "San Andrés", "Santa Marta",
+      "Cali", "Leticia", "Pereira", "Barichara", "Villa de Leyva" };
+  private static final BookingStatus[] STATUSES = { BookingStatus.PENDING, BookingStatus.CONFIRMED,
+      BookingStatus.PAID, BookingStatus.CANCELLED };
+  private static final String[] METHODS = { "CREDIT_CARD", "DEBIT_CARD", "BANK_TRANSFER", "CASH" };
+  private static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+
+  final List<UserEntity> users;
+  final List<TravelEntity> travels;
+  final List<BookingEntity> bookings;
+  final List<PaymentEntity> payments;
+
+  private SyntheticData(List<UserEntity> users, List<TravelEntity> travels, List<BookingEntity> bookings,
+      List<PaymentEntity> payments) {
+    this.users = users;
+    this.travels = travels;
+    this.bookings = bookings;
+    this.payments = payments;
+  }
+
+  /**
+   * @param bookingCount número de reservas; se crea un usuario cada 10
+   *                     reservas, un viaje cada 50 y dos pagos por reserva
+   */
+  static SyntheticData generate(int bookingCount) {
+    Random random = new Random(42);
+    List<UserEntity> users = new ArrayList<>();
+    for (int i = 0; i < Math.max(1, bookingCount / 10); i++) {
+      users.add(user(i));
+    }
+    List<TravelEntity> travels = new ArrayList<>();
+    for (int i = 0; i < Math.max(1, bookingCount / 50); i++) {
+      travels.add(travel(i, random));
+    }
+
+    List<BookingEntity> bookings = new ArrayList<>(bookingCount);
+    List<PaymentEntity> payments = new ArrayList<>(bookingCount * 2);
+    for (int i = 0; i < bookingCount; i++) {
+      BookingEntity booking = new BookingEntity();
+      booking.setId((long) i + 1);
+      booking.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+      booking.setUser(users.get(random.nextInt(users.size())));
+      booking.setTravel(travels.get(random.nextInt(travels.size())));
+
+      List<PaymentEntity> bookingPayments = new ArrayList<>(2);
+      for (int p = 0; p < 2; p++) {
+        PaymentEntity payment = new PaymentEntity();
+        payment.setId((long) payments.size() + 1);
+        payment.setAmount(BigDecimal.valueOf(100 + random.nextInt(900), 2));
+        payment.setPaymentDate(BASE_DATE.plusDays(random.nextInt(365)));
+        payment.setPaymentMethod(METHODS[random.nextInt(METHODS.length)]);
+        payment.setBooking(booking);
+        bookingPayments.add(payment);
+        payments.add(payment);
+      }
+      booking.setPayments(bookingPayments);
+      bookings.add(booking);
+    }
+    return new SyntheticData(users, travels, bookings, payments);
+  }
+
+  /**
+   * Solo un catálogo de {@code count} viajes, sin reservas.
+   */
+  static List<TravelEntity> travels(int count) {
+    Random random = new Random(42);
+    List<TravelEntity> travels = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      travels.add(travel(i, random));
+    }
+    return travels;
+  }
+
+  private static UserEntity user(int i) {
+    UserEntity user = new UserEntity();
+    user.setId((long) i + 1);
+    user.setUsername("user" + i);
+    user.setPassword("hash");
+    user.setName("Nombre" + i);
+    user.setSurname("Apellido" + i);
+    user.setEmail("user" + i + "@viajes.com");
+    user.setPhoneNumber("300" + i);
+    return user;
+  }
+
+  private static TravelEntity travel(int i, Random random) {
+    TravelEntity travel = new TravelEntity();
+    travel.setId((long) i + 1);
+    travel.setDestination(DESTINATIONS[i % DESTINATIONS.length] + " " + i);
+    travel.setDepartureDate(BASE_DATE.plusDays(random.nextInt(365)));
+    travel.setReturnDate(travel.getDepartureDate().plusDays(3 + random.nextInt(10)));
+    travel.setPrice(BigDecimal.valueOf(100_000 + random.nextInt(900_000), 2));
+    travel.setItinerary("Itinerario del viaje " + i);
+    travel.setStatus(i % 7 == 0 ? "INACTIVE" : "ACTIVE");
+    travel.setBookings(new ArrayList<>());
+    return travel;
+  }
+}
@@ -0,0 +1,16 @@
+package com.tdea.proyecto_final.construccion_de_software.cache;
+
+/**
+ * Punto de extensión para propagar invalidaciones del catálogo de viajes a
+ * otros nodos (por ejemplo publicando en un canal pub/sub). El receptor en
+ * cada nodo debe llamar a {@link TravelCacheInvalidator#evictLocally(Long)}.
+ */
+public interface TravelCacheInvalidationHook {
+
+  /**
+   * Se invoca después de invalidar la caché local.
+   *
+   * @param travelId viaje modificado
+   */
+  void travelChanged(Long travelId);
+}
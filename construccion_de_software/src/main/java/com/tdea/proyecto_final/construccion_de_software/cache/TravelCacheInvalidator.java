@@ -0,0 +1,43 @@
+package com.tdea.proyecto_final.construccion_de_software.cache;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.tdea.proyecto_final.construccion_de_software.config.CacheConfig;
+import com.tdea.proyecto_final.construccion_de_software.support.AfterCommit;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class TravelCacheInvalidator {
+
+  private final CacheManager cacheManager;
+  private final ObjectProvider<TravelCacheInvalidationHook> hooks;
+
+  /**
+   * Invalida un viaje en este nodo y avisa a los hooks registrados cuando la
+   * transacción en curso se confirma. Antes, una lectura concurrente podría
+   * volver a llenar la caché (aquí y en otros nodos) con los datos anteriores.
+   */
+  public void invalidate(Long travelId) {
+    AfterCommit.run(() -> {
+      evictLocally(travelId);
+      hooks.orderedStream().forEach(hook -> hook.travelChanged(travelId));
+    });
+  }
+
+  /**
+   * Invalida solo la caché de este nodo. El viaje se elimina por id y el
+   * catálogo completo se descarta porque lo contiene.
+   */
+  public void evictLocally(Long travelId) {
+    if (travelId != null) {
+      Optional.ofNullable(cacheManager.getCache(CacheConfig.TRAVELS)).ifPresent(cache -> cache.evict(travelId));
+    }
+    Optional.ofNullable(cacheManager.getCache(CacheConfig.TRAVEL_CATALOG)).ifPresent(cache -> cache.clear());
+  }
+}
@@ -0,0 +1,37 @@
+package com.tdea.proyecto_final.construccion_de_software.config;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  // Viaje individual por id (TravelResponse con sus reservas)
+  public static final String TRAVELS = "travels";
+  // Catálogo completo, con o sin reservas anidadas
+  public static final String TRAVEL_CATALOG = "travelCatalog";
+
+  /**
+   * Tamaño, TTL y estadísticas se configuran con spring.cache.caffeine.spec;
+   * Actuator ya publica cache.gets, cache.puts, cache.evictions y
+   * cache.load.duration. Aquí solo se añade la tasa de aciertos.
+   */
+  @Bean
+  public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+    return registry -> cacheManager.getCacheNames().forEach(name -> {
+      if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+        Gauge.builder("cache.hit.ratio", cache.getNativeCache(), nativeCache -> nativeCache.stats().hitRate())
+            .tag("cache", name)
+            .description("Fracción de lecturas servidas desde la caché")
+            .register(registry);
+      }
+    });
+  }
+}
@@ -0,0 +1,70 @@
+package com.tdea.proyecto_final.construccion_de_software.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.IdGenerators;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Alinea los contadores de id_generators con los ids que ya existen en cada
+ * tabla, de modo que los ids asignados por el optimizador pooled-lo nunca
+ * choquen con filas creadas cuando la tabla usaba AUTO_INCREMENT. Se ejecuta
+ * al arrancar, después de que Hibernate cree o actualice el esquema y antes de
+ * que se atienda cualquier petición. Es idempotente: solo sube el contador.
+ *
+ * En MySQL las columnas id existentes conservan AUTO_INCREMENT, que no estorba:
+ * un INSERT con id explícito lo respeta y solo adelanta el contador interno.
+ * Puede quitarse más adelante con ALTER TABLE ... MODIFY id BIGINT NOT NULL.
+ */
+@Component
+public class IdGeneratorMigration {
+
+  private static final Logger log = LoggerFactory.getLogger(IdGeneratorMigration.class);
+
+  // Nombre del contador en id_generators -> tabla cuyos ids genera
+  static final Map<String, String> GENERATED_TABLES = Map.of(
+      "users", "users",
+      "travels", "travels",
+      "bookings", "bookings",
+      "payments", "payments",
+      "waitlist_entries", "waitlist_entries");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // EntityManagerFactory solo se inyecta para que el esquema ya exista
+  public IdGeneratorMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @PostConstruct
+  public void migrate() {
+    GENERATED_TABLES.forEach(this::alignCounter);
+  }
+
+  // Hibernate guarda en next_val el último id reservado (el siguiente será
+  // next_val + 1), así que basta con que no sea menor que MAX(id)
+  void alignCounter(String sequenceName, String table) {
+    long lastUsed = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+    List<Long> current = jdbcTemplate.queryForList("SELECT " + IdGenerators.VALUE_COLUMN + " FROM "
+        + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ?", Long.class, sequenceName);
+
+    if (current.isEmpty()) {
+      jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+          + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)", sequenceName, lastUsed);
+      log.info("Initialized id generator '{}' at {}", sequenceName, lastUsed);
+    } else if (current.get(0) < lastUsed) {
+      jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ? WHERE "
+          + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?", lastUsed, sequenceName,
+          lastUsed);
+      log.info("Moved id generator '{}' from {} to {}", sequenceName, current.get(0), lastUsed);
+    }
+  }
+}
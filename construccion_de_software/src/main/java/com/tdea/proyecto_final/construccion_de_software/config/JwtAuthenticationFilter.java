@@ -0,0 +1,57 @@
+package com.tdea.proyecto_final.construccion_de_software.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.tdea.proyecto_final.construccion_de_software.service.TokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Autentica la petición con la cabecera "Authorization: Bearer". El usuario y
+ * su rol salen de las claims del token, sin consultar la base de datos. Las
+ * peticiones sin cabecera siguen como anónimas; un token inválido o vencido
+ * recibe 401 para que el cliente vuelva a iniciar sesión.
+ */
+class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+  private static final String BEARER = "Bearer ";
+
+  private final TokenService tokenService;
+
+  JwtAuthenticationFilter(TokenService tokenService) {
+    this.tokenService = tokenService;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    Optional<TokenService.Claims> claims = tokenService.parse(header.substring(BEARER.length()).trim());
+    if (claims.isEmpty()) {
+      response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
+      return;
+    }
+
+    TokenService.Claims user = claims.get();
+    UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(user,
+        null, List.of(new SimpleGrantedAuthority("ROLE_" + user.rol())));
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+    chain.doFilter(request, response);
+  }
+}
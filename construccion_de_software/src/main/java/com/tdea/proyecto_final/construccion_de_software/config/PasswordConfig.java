@@ -1,15 +1,50 @@
 package com.tdea.proyecto_final.construccion_de_software.config;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
 @Configuration
 public class PasswordConfig {
 
+  public static final String HASHING_EXECUTOR = "passwordHashingExecutor";
+
+  /**
+   * Factor de trabajo configurable: cada punto duplica el costo de hashear y
+   * de verificar.
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength) {
+    return new BCryptPasswordEncoder(strength);
+  }
+
+  /**
+   * Hilos dedicados a BCrypt con cola acotada. Cuando la cola está llena la
+   * tarea se rechaza de inmediato (PasswordHashingService responde 503), así
+   * que una ráfaga de logins ocupa como máximo threads + queue-capacity hilos
+   * de Tomcat. Publica executor.* con el nombre passwordHashing.
+   */
+  @Bean(name = HASHING_EXECUTOR, destroyMethod = "shutdown")
+  public ThreadPoolExecutor passwordHashingExecutor(MeterRegistry meterRegistry,
+      @Value("${app.security.hashing.threads:0}") int threads,
+      @Value("${app.security.hashing.queue-capacity:32}") int queueCapacity) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+    threadFactory.setDaemon(true);
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    new ExecutorServiceMetrics(executor, "passwordHashing", Tags.empty()).bindTo(meterRegistry);
+    return executor;
   }
 }
@@ -0,0 +1,54 @@
+package com.tdea.proyecto_final.construccion_de_software.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.repository.DashboardRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Normaliza el método de los pagos antiguos al formato con el que se guardan
+ * los nuevos (sin espacios y en mayúsculas). El filtro de pagos compara por
+ * igualdad y los ingresos por método se agrupan por el valor guardado, así
+ * que "credit_card" y "CREDIT_CARD" contaban como métodos distintos. Se
+ * ejecuta al arrancar y es idempotente: si no hay filas que cambiar no hace
+ * nada. Si cambió alguna, recalcula los ingresos del dashboard.
+ */
+@Component
+public class PaymentMethodMigration {
+
+  private static final Logger log = LoggerFactory.getLogger(PaymentMethodMigration.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DashboardRepository dashboardRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  // EntityManagerFactory solo se inyecta para que el esquema ya exista
+  public PaymentMethodMigration(JdbcTemplate jdbcTemplate, DashboardRepository dashboardRepository,
+      PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.dashboardRepository = dashboardRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @PostConstruct
+  public void migrate() {
+    transactionTemplate.executeWithoutResult(status -> {
+      // Con la intercalación por defecto de MySQL 'a' = 'A', así que las filas
+      // a corregir se buscan con una expresión regular que distingue mayúsculas
+      int updated = jdbcTemplate.update("UPDATE payments SET payment_method = UPPER(TRIM(payment_method)) "
+          + "WHERE REGEXP_LIKE(payment_method, '[a-z]', 'c') "
+          + "OR CHAR_LENGTH(payment_method) <> CHAR_LENGTH(TRIM(payment_method))");
+      if (updated > 0) {
+        dashboardRepository.rebuildPaymentTotals();
+        log.info("Normalized the payment method of {} payments", updated);
+      }
+    });
+  }
+}
@@ -0,0 +1,9 @@
+package com.tdea.proyecto_final.construccion_de_software.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -6,17 +6,22 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.tdea.proyecto_final.construccion_de_software.dto.CursorPage;
+import com.tdea.proyecto_final.construccion_de_software.service.TokenService;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
     http
         .authorizeHttpRequests(authz -> authz
             .anyRequest().permitAll() // Permitir todas las requests sin autenticación
@@ -24,7 +29,10 @@ public class SecurityConfig {
         .csrf(csrf -> csrf.disable()) // Deshabilitar CSRF
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .formLogin(form -> form.disable()) // Deshabilitar form login
-        .httpBasic(basic -> basic.disable()); // Deshabilitar HTTP Basic
+        .httpBasic(basic -> basic.disable()) // Deshabilitar HTTP Basic
+        // Sesión sin estado: cada petición se autentica con su token Bearer
+        .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        .addFilterBefore(new JwtAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
   }
@@ -41,6 +49,7 @@ public class SecurityConfig {
         "http://127.0.0.1:8080"));
     configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
     configuration.setAllowedHeaders(List.of("*"));
+    configuration.setExposedHeaders(List.of(CursorPage.NEXT_CURSOR_HEADER));
     configuration.setAllowCredentials(true);
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,80 @@
+package com.tdea.proyecto_final.construccion_de_software.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Vigila con JFR los eventos jdk.VirtualThreadPinned cuando la aplicación usa
+ * hilos virtuales. Un hilo virtual fijado bloquea a su hilo portador mientras
+ * espera (por ejemplo E/S dentro de código nativo), lo que anula la ventaja
+ * del modo. Cada evento incrementa la métrica jvm.threads.virtual.pinned y se
+ * registra con el marco que lo provocó para poder corregirlo.
+ *
+ * Desde Java 24 un bloque synchronized ya no fija el hilo, y Connector/J 9
+ * usa ReentrantLock, así que en la ruta JDBC no debería aparecer ninguno.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private final Counter pinnedCounter;
+  private final Duration threshold;
+  private RecordingStream recording;
+
+  public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+      @Value("${app.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+    this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+        .description("Virtual threads pinned to their carrier longer than the configured threshold")
+        .register(meterRegistry);
+    this.threshold = threshold;
+  }
+
+  @PostConstruct
+  void start() {
+    recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::onPinned);
+    recording.startAsync();
+  }
+
+  @PreDestroy
+  void stop() {
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  private void onPinned(RecordedEvent event) {
+    pinnedCounter.increment();
+    log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), topFrame(event));
+  }
+
+  private static String topFrame(RecordedEvent event) {
+    if (event.getStackTrace() == null) {
+      return "unknown frame";
+    }
+    for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+      if (frame.isJavaFrame()) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+      }
+    }
+    return "native frame";
+  }
+}
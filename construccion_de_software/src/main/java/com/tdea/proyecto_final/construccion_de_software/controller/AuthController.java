@@ -1,16 +1,26 @@
 package com.tdea.proyecto_final.construccion_de_software.controller;
 
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.tdea.proyecto_final.construccion_de_software.dto.AuthResponse;
 import com.tdea.proyecto_final.construccion_de_software.dto.LoginRequest;
 import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
 import com.tdea.proyecto_final.construccion_de_software.service.LoginUserService;
+import com.tdea.proyecto_final.construccion_de_software.service.RateLimiter;
 import com.tdea.proyecto_final.construccion_de_software.service.RegisterUserService;
+import com.tdea.proyecto_final.construccion_de_software.service.TokenService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -19,16 +29,39 @@ import lombok.RequiredArgsConstructor;
 public class AuthController {
   private final RegisterUserService registerUserUseCase;
   private final LoginUserService loginUserUseCase;
+  private final TokenService tokenService;
+  private final RateLimiter rateLimiter;
 
   @PostMapping("/register")
-  public ResponseEntity<UserEntity> register(@RequestBody UserEntity user) {
+  public ResponseEntity<UserEntity> register(@RequestBody UserEntity user, HttpServletRequest request) {
+    rateLimiter.acquire("register-ip", request.getRemoteAddr());
     UserEntity result = registerUserUseCase.register(user);
     return ResponseEntity.ok(result);
   }
 
   @PostMapping("/login")
-  public ResponseEntity<UserEntity> login(@RequestBody LoginRequest loginRequest) {
+  public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+    // Antes de cualquier consulta o BCrypt; ambos buckets deben tener tokens
+    rateLimiter.acquire("login-ip", request.getRemoteAddr());
+    rateLimiter.acquire("login-user", rateLimitKey(loginRequest.getUsername()));
     UserEntity loggedInUser = loginUserUseCase.login(loginRequest.getUsername(), loginRequest.getPassword());
-    return ResponseEntity.ok(loggedInUser);
+    return ResponseEntity.ok(tokenService.issue(loggedInUser));
+  }
+
+  // "Admin", " admin" y "ADMIN" comparten bucket; si no, cada variante
+  // daría otros cinco intentos contra la misma cuenta
+  private static String rateLimitKey(String username) {
+    return username == null ? null : username.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Usuario del token Bearer, leído de sus claims sin ir a la base de datos.
+   */
+  @GetMapping("/me")
+  public ResponseEntity<TokenService.Claims> me(@AuthenticationPrincipal TokenService.Claims claims) {
+    if (claims == null) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing bearer token");
+    }
+    return ResponseEntity.ok(claims);
   }
 }
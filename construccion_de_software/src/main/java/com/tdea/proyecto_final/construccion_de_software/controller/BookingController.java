@@ -1,11 +1,15 @@
 package com.tdea.proyecto_final.construccion_de_software.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,15 +17,21 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingImportResponse;
 import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
 import com.tdea.proyecto_final.construccion_de_software.dto.BookingResponse;
 import com.tdea.proyecto_final.construccion_de_software.dto.UpdateBookingStatusRequest;
 import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
 import com.tdea.proyecto_final.construccion_de_software.mapper.BookingMapper;
+import com.tdea.proyecto_final.construccion_de_software.service.ExportService;
+import com.tdea.proyecto_final.construccion_de_software.service.IdempotencyService;
+import com.tdea.proyecto_final.construccion_de_software.service.ImportBookingsService;
 import com.tdea.proyecto_final.construccion_de_software.service.ManageBookingsService;
 
 import lombok.RequiredArgsConstructor;
@@ -32,21 +42,54 @@ import lombok.RequiredArgsConstructor;
 public class BookingController {
   private final ManageBookingsService manageBookingsUseCase;
   private final BookingMapper bookingMapper;
+  private final IdempotencyService idempotencyService;
+  private final ImportBookingsService importBookingsUseCase;
+  private final ExportService exportService;
 
   @PostMapping("/create")
-  public ResponseEntity<BookingResponse> createBooking(@RequestBody BookingRequest bookingRequest) {
-    BookingEntity createdBooking = manageBookingsUseCase.createBooking(bookingRequest);
-    BookingResponse response = bookingMapper.toResponse(createdBooking);
-    return ResponseEntity.ok(response);
+  public ResponseEntity<?> createBooking(@RequestBody BookingRequest bookingRequest,
+      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    return idempotencyService.execute("bookings", idempotencyKey, bookingRequest, () -> {
+      BookingEntity createdBooking = manageBookingsUseCase.createBooking(bookingRequest);
+      BookingResponse response = bookingMapper.toResponse(createdBooking);
+      return ResponseEntity.ok(response);
+    });
+  }
+
+  /**
+   * Importación masiva desde un arreglo JSON o un archivo NDJSON
+   * (application/x-ndjson) de BookingRequest. Responde con el número de filas
+   * importadas y un reporte de las rechazadas.
+   */
+  @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE,
+      MediaType.APPLICATION_NDJSON_VALUE })
+  public ResponseEntity<BookingImportResponse> importBookings(InputStream body,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+    boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    return ResponseEntity.ok(importBookingsUseCase.importBookings(body, ndjson));
   }
 
   @GetMapping
   public ResponseEntity<List<BookingResponse>> listBookings() {
-    List<BookingEntity> bookings = manageBookingsUseCase.listBookings();
-    List<BookingResponse> response = bookings.stream()
-        .map(bookingMapper::toResponse)
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok(manageBookingsUseCase.listBookings());
+  }
+
+  /**
+   * Reservas cuyo viaje sale entre from y to (inclusivos), con usuario y
+   * viaje, en CSV o NDJSON escrito fila por fila desde la base de datos.
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "csv") String format) {
+    ExportService.Format exportFormat = ExportService.Format.parse(format);
+    exportService.validateRange(from, to);
+    StreamingResponseBody body = out -> exportService.exportBookings(from, to, exportFormat, out);
+    return ResponseEntity.ok()
+        .contentType(exportFormat.mediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, PaymentController.attachment("bookings", exportFormat))
+        .body(body);
   }
 
   @GetMapping("/filter")
@@ -79,11 +122,7 @@ public class BookingController {
 
   @GetMapping("/user/{userId}")
   public ResponseEntity<List<BookingResponse>> listBookingsByUserId(@PathVariable Long userId) {
-    List<BookingEntity> bookings = manageBookingsUseCase.listBookingsByUserId(userId);
-    List<BookingResponse> response = bookings.stream()
-        .map(bookingMapper::toResponse)
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok(manageBookingsUseCase.listBookingsByUserId(userId));
   }
 
   @PatchMapping("/{id}/status")
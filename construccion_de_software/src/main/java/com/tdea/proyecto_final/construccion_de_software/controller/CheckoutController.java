@@ -0,0 +1,48 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.CheckoutRequest;
+import com.tdea.proyecto_final.construccion_de_software.dto.ErrorResponse;
+import com.tdea.proyecto_final.construccion_de_software.service.CheckoutService;
+import com.tdea.proyecto_final.construccion_de_software.service.IdempotencyService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/checkout")
+@RequiredArgsConstructor
+public class CheckoutController {
+  private final CheckoutService checkoutService;
+  private final IdempotencyService idempotencyService;
+
+  /**
+   * Reemplaza la secuencia POST /api/bookings/create, GET /api/bookings/{id} y
+   * POST /api/payments. Los errores de la reserva conservan su código (404,
+   * 409...) y los del pago responden 400 PAYMENT_ERROR como en /api/payments.
+   */
+  @PostMapping
+  public ResponseEntity<?> checkout(@Valid @RequestBody CheckoutRequest request,
+      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    return idempotencyService.execute("checkout", idempotencyKey, request, () -> {
+      try {
+        return ResponseEntity.status(HttpStatus.CREATED).body(checkoutService.checkout(request));
+      } catch (ResponseStatusException e) {
+        throw e;
+      } catch (RuntimeException e) {
+        ErrorResponse error = new ErrorResponse(400, "PAYMENT_ERROR", e.getMessage(), LocalDateTime.now());
+        return ResponseEntity.badRequest().body(error);
+      }
+    });
+  }
+}
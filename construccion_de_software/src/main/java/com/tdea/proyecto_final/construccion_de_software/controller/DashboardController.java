@@ -0,0 +1,34 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.DashboardResponse;
+import com.tdea.proyecto_final.construccion_de_software.service.DashboardService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+  private final DashboardService dashboardService;
+
+  /**
+   * Reservas por estado, ingresos por método, día y destino, y saldo
+   * pendiente. revenueByDay cubre from..to (por defecto los últimos 30 días).
+   */
+  @GetMapping
+  public ResponseEntity<DashboardResponse> getDashboard(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ResponseEntity.ok(dashboardService.getDashboard(from, to));
+  }
+}
@@ -0,0 +1,46 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escribe un arreglo JSON elemento por elemento directamente sobre la
+ * respuesta, sin construir la lista completa en memoria.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreamWriter {
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * @param producer recibe el consumidor al que debe entregar cada elemento;
+   *                 se ejecuta mientras se escribe la respuesta
+   */
+  public <T> StreamingResponseBody array(Consumer<Consumer<T>> producer) {
+    return outputStream -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.writeStartArray();
+        producer.accept(item -> write(generator, item));
+        generator.writeEndArray();
+      }
+    };
+  }
+
+  private void write(JsonGenerator generator, Object item) {
+    try {
+      objectMapper.writeValue(generator, item);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
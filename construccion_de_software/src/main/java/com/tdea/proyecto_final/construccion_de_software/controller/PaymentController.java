@@ -6,6 +6,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,14 +15,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.tdea.proyecto_final.construccion_de_software.dto.CursorPage;
 import com.tdea.proyecto_final.construccion_de_software.dto.ErrorResponse;
 import com.tdea.proyecto_final.construccion_de_software.dto.PaymentRequest;
 import com.tdea.proyecto_final.construccion_de_software.dto.PaymentResponse;
 import com.tdea.proyecto_final.construccion_de_software.dto.PaymentSummaryResponse;
+import com.tdea.proyecto_final.construccion_de_software.service.ExportService;
+import com.tdea.proyecto_final.construccion_de_software.service.IdempotencyService;
 import com.tdea.proyecto_final.construccion_de_software.service.ManagePaymentsService;
 
 import jakarta.validation.Valid;
@@ -32,16 +39,21 @@ import lombok.RequiredArgsConstructor;
 public class PaymentController {
 
   private final ManagePaymentsService managePaymentsUseCase;
+  private final IdempotencyService idempotencyService;
+  private final ExportService exportService;
 
   @PostMapping
-  public ResponseEntity<?> processPayment(@Valid @RequestBody PaymentRequest request) {
-    try {
-      PaymentResponse payment = managePaymentsUseCase.processPayment(request);
-      return ResponseEntity.status(HttpStatus.CREATED).body(payment);
-    } catch (RuntimeException e) {
-      ErrorResponse error = new ErrorResponse(400, "PAYMENT_ERROR", e.getMessage(), LocalDateTime.now());
-      return ResponseEntity.badRequest().body(error);
-    }
+  public ResponseEntity<?> processPayment(@Valid @RequestBody PaymentRequest request,
+      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    return idempotencyService.execute("payments", idempotencyKey, request, () -> {
+      try {
+        PaymentResponse payment = managePaymentsUseCase.processPayment(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(payment);
+      } catch (RuntimeException e) {
+        ErrorResponse error = new ErrorResponse(400, "PAYMENT_ERROR", e.getMessage(), LocalDateTime.now());
+        return ResponseEntity.badRequest().body(error);
+      }
+    });
   }
 
   @GetMapping("/booking/{bookingId}/summary")
@@ -68,11 +80,49 @@ public class PaymentController {
       @RequestParam(required = false) BigDecimal minAmount,
       @RequestParam(required = false) BigDecimal maxAmount,
       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
-      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
 
-    List<PaymentResponse> payments = managePaymentsUseCase.filterPayments(userEmail, paymentMethod, minAmount,
-        maxAmount, dateFrom, dateTo);
-    return ResponseEntity.ok(payments);
+    // Sin paginación se mantiene la respuesta completa que usa el frontend
+    if (cursor == null && size == null) {
+      return ResponseEntity.ok(managePaymentsUseCase.filterPayments(userEmail, paymentMethod, minAmount, maxAmount,
+          dateFrom, dateTo));
+    }
+
+    CursorPage<PaymentResponse> page = managePaymentsUseCase.filterPayments(userEmail, paymentMethod, minAmount,
+        maxAmount, dateFrom, dateTo, cursor, size == null ? 50 : size);
+
+    // El cursor de la siguiente página viaja en una cabecera para que el cuerpo
+    // siga siendo la lista que ya consume el frontend
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.hasMore()) {
+      response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+    }
+    return response.body(page.items());
+  }
+
+  /**
+   * Todos los pagos con fecha entre from y to (inclusivos), con los datos de
+   * usuario y viaje, en CSV o NDJSON. Se escribe fila por fila desde la base
+   * de datos, así que sirve para exportaciones de millones de pagos.
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "csv") String format) {
+    ExportService.Format exportFormat = ExportService.Format.parse(format);
+    exportService.validateRange(from, to);
+    StreamingResponseBody body = out -> exportService.exportPayments(from, to, exportFormat, out);
+    return ResponseEntity.ok()
+        .contentType(exportFormat.mediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, attachment("payments", exportFormat))
+        .body(body);
+  }
+
+  static String attachment(String name, ExportService.Format format) {
+    return ContentDisposition.attachment().filename(name + "." + format.extension()).build().toString();
   }
 
   @GetMapping("/booking/{bookingId}")
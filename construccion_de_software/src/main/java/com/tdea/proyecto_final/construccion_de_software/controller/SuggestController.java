@@ -0,0 +1,58 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tdea.proyecto_final.construccion_de_software.search.SuggestionIndex;
+import com.tdea.proyecto_final.construccion_de_software.service.TokenService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+public class SuggestController {
+
+  private static final int MAX_SUGGESTIONS = 50;
+
+  private final SuggestionIndex suggestionIndex;
+
+  /**
+   * Valores que empiezan por q, en orden alfabético, leídos de memoria. Los
+   * correos solo se sugieren a un administrador.
+   */
+  @GetMapping
+  public ResponseEntity<List<String>> suggest(@RequestParam String field,
+      @RequestParam(defaultValue = "") String q,
+      @RequestParam(defaultValue = "10") int limit,
+      @AuthenticationPrincipal TokenService.Claims claims) {
+    SuggestionIndex.Field parsed;
+    try {
+      parsed = SuggestionIndex.Field.valueOf(field.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown suggestion field: " + field);
+    }
+    if (limit < 1 || limit > MAX_SUGGESTIONS) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Limit must be between 1 and " + MAX_SUGGESTIONS);
+    }
+    if (parsed == SuggestionIndex.Field.EMAIL) {
+      if (claims == null) {
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing bearer token");
+      }
+      if (!"ADMIN".equals(claims.rol())) {
+        throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Email suggestions require the ADMIN role");
+      }
+    }
+    return ResponseEntity.ok(suggestionIndex.suggest(parsed, q, limit));
+  }
+}
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,8 +17,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.tdea.proyecto_final.construccion_de_software.dto.CursorPage;
 import com.tdea.proyecto_final.construccion_de_software.dto.TravelResponse;
+import com.tdea.proyecto_final.construccion_de_software.dto.TravelSearchResult;
 import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
 import com.tdea.proyecto_final.construccion_de_software.mapper.TravelMapper;
 import com.tdea.proyecto_final.construccion_de_software.service.ManageTravelsService;
@@ -30,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 public class TravelController {
   private final ManageTravelsService manageTravelsUseCase;
   private final TravelMapper travelMapper;
+  private final JsonStreamWriter jsonStreamWriter;
 
   @PostMapping("/create")
   public ResponseEntity<TravelEntity> create(@RequestBody TravelEntity travel) {
@@ -38,12 +43,31 @@ public class TravelController {
   }
 
   @GetMapping
-  public ResponseEntity<List<TravelResponse>> list() {
-    List<TravelEntity> travels = manageTravelsUseCase.listTravels();
-    List<TravelResponse> response = travels.stream()
-        .map(travelMapper::toResponse)
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(response);
+  public ResponseEntity<List<TravelResponse>> list(
+      @RequestParam(required = false) Long cursor,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(defaultValue = "true") boolean includeBookings) {
+
+    // Sin paginación se mantiene la respuesta completa que usa el frontend
+    if (cursor == null && size == null) {
+      return ResponseEntity.ok(manageTravelsUseCase.listTravels(includeBookings));
+    }
+
+    CursorPage<TravelResponse> page = manageTravelsUseCase.listTravels(cursor, size == null ? 50 : size,
+        includeBookings);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.hasMore()) {
+      response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+    }
+    return response.body(page.items());
+  }
+
+  @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> stream(
+      @RequestParam(defaultValue = "false") boolean includeBookings) {
+    StreamingResponseBody body = jsonStreamWriter.<TravelResponse>array(
+        consumer -> manageTravelsUseCase.streamTravels(includeBookings, consumer));
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
   }
 
   @GetMapping("/filter")
@@ -60,11 +84,20 @@ public class TravelController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Autocompletado: viajes cuyo destino o itinerario coincide con q (prefijo,
+   * subcadena o con una o dos letras de diferencia, sin importar tildes).
+   */
+  @GetMapping("/search")
+  public ResponseEntity<List<TravelSearchResult>> search(@RequestParam String q,
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(manageTravelsUseCase.searchTravels(q, limit));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<?> getById(@PathVariable Long id) {
-    TravelEntity travel = manageTravelsUseCase.getTravelById(id);
-    if (travel != null) {
-      TravelResponse response = travelMapper.toResponse(travel);
+    TravelResponse response = manageTravelsUseCase.getTravelResponseById(id);
+    if (response != null) {
       return ResponseEntity.ok(response);
     } else {
       return ResponseEntity.status(404).body(
@@ -0,0 +1,39 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.WaitlistPosition;
+import com.tdea.proyecto_final.construccion_de_software.dto.WaitlistRequest;
+import com.tdea.proyecto_final.construccion_de_software.service.WaitlistService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/travels/{travelId}/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+  private final WaitlistService waitlistService;
+
+  @PostMapping
+  public ResponseEntity<WaitlistPosition> join(@PathVariable Long travelId, @RequestBody WaitlistRequest request) {
+    return ResponseEntity.ok(waitlistService.join(travelId, request.getUserId()));
+  }
+
+  @GetMapping("/{userId}")
+  public ResponseEntity<WaitlistPosition> position(@PathVariable Long travelId, @PathVariable Long userId) {
+    return ResponseEntity.ok(waitlistService.position(travelId, userId));
+  }
+
+  @DeleteMapping("/{userId}")
+  public ResponseEntity<Void> leave(@PathVariable Long travelId, @PathVariable Long userId) {
+    waitlistService.leave(travelId, userId);
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -1,4 +1,10 @@
 package com.tdea.proyecto_final.construccion_de_software.dto;
 
-public record AuthResponse(String token) {
+import java.time.Instant;
+
+/**
+ * Sesión emitida en el login: el token Bearer y los datos del usuario que
+ * necesita el front end, sin la contraseña.
+ */
+public record AuthResponse(String token, Instant expiresAt, Long id, String username, String name, String rol) {
 }
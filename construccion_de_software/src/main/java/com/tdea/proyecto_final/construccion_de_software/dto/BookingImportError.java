@@ -0,0 +1,13 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingImportError {
+  private long row; // posición en el archivo, empezando en 1
+  private String message;
+}
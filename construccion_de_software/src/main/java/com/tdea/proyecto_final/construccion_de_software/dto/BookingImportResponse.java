@@ -0,0 +1,17 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingImportResponse {
+  private long received;
+  private long imported;
+  private long rejected;
+  private List<BookingImportError> errors; // como máximo las primeras 1000
+}
@@ -0,0 +1,9 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Reservas en un estado, con el precio total reservado y lo ya pagado.
+ */
+public record BookingStatusTotal(String status, long bookings, BigDecimal amountDue, BigDecimal amountPaid) {
+}
@@ -0,0 +1,34 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reserva y primer pago en una sola petición. Sin estado la reserva se crea
+ * como PENDING.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+  private String status;
+
+  @NotNull(message = "User ID is required")
+  private Long userId;
+
+  @NotNull(message = "Travel ID is required")
+  private Long travelId;
+
+  @NotNull(message = "Amount is required")
+  @Positive(message = "Amount must be positive")
+  private BigDecimal amount;
+
+  @NotBlank(message = "Payment method is required")
+  private String paymentMethod;
+}
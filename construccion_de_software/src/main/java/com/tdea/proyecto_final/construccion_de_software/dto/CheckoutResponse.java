@@ -0,0 +1,10 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Reserva creada (con su primer pago ya incluido), el pago y lo que queda
+ * por pagar.
+ */
+public record CheckoutResponse(BookingResponse booking, PaymentResponse payment, BigDecimal remainingBalance) {
+}
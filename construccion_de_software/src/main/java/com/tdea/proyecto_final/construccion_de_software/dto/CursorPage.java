@@ -0,0 +1,14 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+  // Cabecera con el cursor de la siguiente página; el cuerpo sigue siendo la
+  // lista que ya consume el frontend
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  public boolean hasMore() {
+    return nextCursor != null;
+  }
+}
@@ -0,0 +1,7 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenue(LocalDate date, long payments, BigDecimal amount) {
+}
@@ -0,0 +1,20 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+  private List<BookingStatusTotal> bookingsByStatus;
+  private List<RevenueTotal> revenueByPaymentMethod;
+  private List<DailyRevenue> revenueByDay;
+  private List<RevenueTotal> revenueByDestination;
+  // Precio pendiente de pago en reservas que siguen vigentes
+  private BigDecimal outstandingBalance;
+}
@@ -0,0 +1,34 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Posición de la última fila entregada en el orden (paymentDate DESC, id DESC).
+ * Se serializa como un token opaco para el cliente.
+ */
+public record PaymentCursor(LocalDate paymentDate, Long id) {
+
+  public String encode() {
+    String raw = paymentDate + "|" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static PaymentCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf('|');
+      return new PaymentCursor(LocalDate.parse(raw.substring(0, separator)),
+          Long.valueOf(raw.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + token);
+    }
+  }
+}
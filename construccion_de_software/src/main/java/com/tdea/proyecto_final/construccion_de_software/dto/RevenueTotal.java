@@ -0,0 +1,9 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Pagos e ingresos de un grupo (método de pago o destino).
+ */
+public record RevenueTotal(String group, long payments, BigDecimal amount) {
+}
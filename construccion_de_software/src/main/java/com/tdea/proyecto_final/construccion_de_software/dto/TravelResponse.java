@@ -18,6 +18,9 @@ public class TravelResponse {
   private LocalDate returnDate;
   private BigDecimal price;
   private String itinerary;
+  // null si el viaje no tiene límite de cupos
+  private Integer capacity;
+  private Integer remainingSeats;
 
   // Lista de usuarios que han reservado este viaje
   private List<BookingInfo> bookings;
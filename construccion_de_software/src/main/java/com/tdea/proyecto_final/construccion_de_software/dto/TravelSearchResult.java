@@ -0,0 +1,7 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+/**
+ * Viaje encontrado por TravelSearchIndex; score es mayor cuanto mejor coincide.
+ */
+public record TravelSearchResult(Long id, String destination, int score) {
+}
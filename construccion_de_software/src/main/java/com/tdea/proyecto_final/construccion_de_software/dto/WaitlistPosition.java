@@ -0,0 +1,7 @@
+package com.tdea.proyecto_final.construccion_de_software.dto;
+
+/**
+ * Puesto de un usuario en la lista de espera de un viaje, empezando en 1.
+ */
+public record WaitlistPosition(Long travelId, Long userId, long position) {
+}
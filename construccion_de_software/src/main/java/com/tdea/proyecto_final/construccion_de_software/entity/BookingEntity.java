@@ -1,40 +1,86 @@
 package com.tdea.proyecto_final.construccion_de_software.entity;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "bookings")
+@NamedEntityGraphs({
+    // Listados y filtros: todo lo que lee BookingMapper en una sola consulta
+    @NamedEntityGraph(name = BookingEntity.GRAPH_DETAIL, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("travel"),
+        @NamedAttributeNode("payments")
+    }),
+    // Operaciones de pago: solo se necesita el viaje (precio) y el usuario
+    @NamedEntityGraph(name = BookingEntity.GRAPH_USER_TRAVEL, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("travel")
+    })
+})
+// Filtros y conteos por estado, solos o limitados a unos viajes. En bases
+// existentes reemplaza a idx_bookings_status, que puede eliminarse
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_status_travel", columnList = "status, travel_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class BookingEntity {
+  public static final String GRAPH_DETAIL = "Booking.detail";
+  public static final String GRAPH_USER_TRAVEL = "Booking.userAndTravel";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledTableId("bookings")
   private Long id;
-  private String status;
 
-  @ManyToOne
+  // VARCHAR explícito: sin él Hibernate 6 crearía un ENUM nativo en MySQL y
+  // añadir un estado obligaría a un ALTER TABLE
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(nullable = false, length = 16)
+  private BookingStatus status;
+
+  // Saldo pagado mantenido por ManagePaymentsService; evita el SUM() sobre los
+  // pagos en cada operación. PaymentBalanceReconciliationJob lo verifica.
+  @Column(nullable = false, precision = 38, scale = 2, columnDefinition = "decimal(38,2) default 0")
+  private BigDecimal paidAmount = BigDecimal.ZERO;
+
+  @Version
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private long version;
+
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id", nullable = false)
   @JsonBackReference("user-bookings")
   private UserEntity user;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "travel_id", nullable = false)
   @JsonBackReference("travel-bookings")
   private TravelEntity travel;
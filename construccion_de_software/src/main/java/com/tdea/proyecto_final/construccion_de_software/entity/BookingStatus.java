@@ -0,0 +1,81 @@
+package com.tdea.proyecto_final.construccion_de_software.entity;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Estados de una reserva y las transiciones permitidas entre ellos. Se
+ * persiste por nombre en una columna VARCHAR(16) (ver BookingEntity.status),
+ * que es la que ya tienen las bases existentes; las consultas comparan un
+ * valor exacto que puede usar el índice (status, travel_id). Un estado nuevo
+ * solo necesita un nombre de hasta 16 caracteres, sin migrar la columna.
+ *
+ * CANCELLED, REJECTED, REFUNDED y NO_SHOW son finales salvo el reembolso de
+ * una reserva cancelada; PAID solo vuelve a CONFIRMED si se anula un pago.
+ */
+public enum BookingStatus {
+  PENDING,
+  CONFIRMED,
+  ON_HOLD,
+  PAID,
+  CANCELLED,
+  REJECTED,
+  REFUNDED,
+  NO_SHOW;
+
+  private static final Map<BookingStatus, Set<BookingStatus>> TRANSITIONS = new EnumMap<>(BookingStatus.class);
+
+  static {
+    TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, ON_HOLD, PAID, CANCELLED, REJECTED));
+    TRANSITIONS.put(CONFIRMED, EnumSet.of(ON_HOLD, PAID, CANCELLED, NO_SHOW));
+    TRANSITIONS.put(ON_HOLD, EnumSet.of(PENDING, CONFIRMED, CANCELLED, REJECTED));
+    TRANSITIONS.put(PAID, EnumSet.of(CONFIRMED, REFUNDED, NO_SHOW));
+    TRANSITIONS.put(CANCELLED, EnumSet.of(REFUNDED));
+    TRANSITIONS.put(REJECTED, EnumSet.noneOf(BookingStatus.class));
+    TRANSITIONS.put(REFUNDED, EnumSet.noneOf(BookingStatus.class));
+    TRANSITIONS.put(NO_SHOW, EnumSet.noneOf(BookingStatus.class));
+  }
+
+  public boolean canTransitionTo(BookingStatus next) {
+    return TRANSITIONS.get(this).contains(next);
+  }
+
+  /**
+   * Si admite pagos: solo los estados desde los que se puede llegar a PAID.
+   */
+  public boolean acceptsPayments() {
+    return canTransitionTo(PAID);
+  }
+
+  /**
+   * Estados cuyo saldo pendiente ya no se espera cobrar.
+   */
+  public boolean isClosed() {
+    return this == CANCELLED || this == REJECTED || this == REFUNDED || this == NO_SHOW;
+  }
+
+  /**
+   * Si la reserva ocupa un cupo del viaje: todas salvo las cerradas.
+   */
+  public boolean holdsSeat() {
+    return !isClosed();
+  }
+
+  /**
+   * Estado con ese nombre, sin distinguir mayúsculas ni espacios alrededor.
+   */
+  public static Optional<BookingStatus> parse(String value) {
+    if (value == null || value.isBlank()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+}
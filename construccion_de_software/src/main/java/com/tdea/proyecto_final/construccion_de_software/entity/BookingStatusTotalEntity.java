@@ -0,0 +1,48 @@
+package com.tdea.proyecto_final.construccion_de_software.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totales de reservas por estado, mantenidos de forma incremental por
+ * DashboardService. Cada estado se reparte en varias filas (slot) para que
+ * las escrituras concurrentes no esperen todas el bloqueo de la misma fila;
+ * las lecturas suman los slots.
+ */
+@Entity
+@Table(name = "booking_status_totals")
+@IdClass(BookingStatusTotalEntity.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusTotalEntity {
+  @Id
+  @Column(length = 50)
+  private String status;
+  @Id
+  private int slot;
+  @Column(nullable = false)
+  private long bookings;
+  // Suma del precio de los viajes reservados
+  @Column(nullable = false, precision = 38, scale = 2)
+  private BigDecimal amountDue;
+  @Column(nullable = false, precision = 38, scale = 2)
+  private BigDecimal amountPaid;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private String status;
+    private int slot;
+  }
+}
@@ -0,0 +1,19 @@
+package com.tdea.proyecto_final.construccion_de_software.entity;
+
+/**
+ * Generación de identificadores con una tabla de contadores (id_generators) y
+ * el optimizador pooled-lo: cada nodo reserva un bloque de ALLOCATION_SIZE ids
+ * con una sola actualización y los asigna en memoria. A diferencia de IDENTITY,
+ * el id se conoce antes del INSERT, así que Hibernate puede agrupar los INSERT
+ * en lotes JDBC (hibernate.jdbc.batch_size). Las entidades lo usan con
+ * {@link PooledTableId}.
+ */
+public final class IdGenerators {
+  public static final String TABLE = "id_generators";
+  public static final String NAME_COLUMN = "sequence_name";
+  public static final String VALUE_COLUMN = "next_val";
+  public static final int ALLOCATION_SIZE = 50;
+
+  private IdGenerators() {
+  }
+}
@@ -0,0 +1,41 @@
+package com.tdea.proyecto_final.construccion_de_software.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyEntity {
+  // Ámbito + clave enviada por el cliente, p. ej. "payments:3f2a..."
+  @Id
+  @Column(length = 150)
+  private String id;
+  @Column(length = 64, nullable = false)
+  private String requestHash;
+  // Nulo mientras la petición original sigue en curso
+  private Integer responseStatus;
+  @Lob
+  private String responseBody;
+  @Column(nullable = false)
+  private Instant createdAt;
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  public boolean isPending() {
+    return responseStatus == null;
+  }
+}
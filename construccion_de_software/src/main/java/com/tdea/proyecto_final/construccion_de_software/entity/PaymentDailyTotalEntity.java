@@ -0,0 +1,51 @@
+package com.tdea.proyecto_final.construccion_de_software.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ingresos por día, método de pago y viaje, mantenidos de forma incremental
+ * por DashboardService. De aquí salen los ingresos por método, por día y por
+ * destino sin recorrer la tabla de pagos.
+ */
+@Entity
+@Table(name = "payment_daily_totals")
+@IdClass(PaymentDailyTotalEntity.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentDailyTotalEntity {
+  @Id
+  private LocalDate paymentDate;
+  @Id
+  @Column(length = 50)
+  private String paymentMethod;
+  @Id
+  private Long travelId;
+  @Id
+  private int slot;
+  @Column(nullable = false)
+  private long payments;
+  @Column(nullable = false, precision = 38, scale = 2)
+  private BigDecimal amount;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private LocalDate paymentDate;
+    private String paymentMethod;
+    private Long travelId;
+    private int slot;
+  }
+}
@@ -6,11 +6,14 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,16 +23,30 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "payments")
+// Todo lo que lee PaymentMapper: la reserva con su usuario y su viaje
+@NamedEntityGraph(name = PaymentEntity.GRAPH_BOOKING_DETAIL, attributeNodes = {
+    @NamedAttributeNode(value = "booking", subgraph = "booking")
+}, subgraphs = {
+    @NamedSubgraph(name = "booking", attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("travel")
+    })
+})
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_date_id", columnList = "payment_date, id"),
+    @Index(name = "idx_payments_method_date", columnList = "payment_method, payment_date")
+})
 public class PaymentEntity {
+  public static final String GRAPH_BOOKING_DETAIL = "Payment.bookingDetail";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledTableId("payments")
   private Long id;
   private BigDecimal amount;
   private LocalDate paymentDate;
   private String paymentMethod;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "booking_id", nullable = false)
   @JsonBackReference("booking-payments")
   private BookingEntity booking;
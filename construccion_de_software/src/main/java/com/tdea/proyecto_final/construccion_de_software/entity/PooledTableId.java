@@ -0,0 +1,20 @@
+package com.tdea.proyecto_final.construccion_de_software.entity;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Id asignado por {@link PooledTableIdGenerator} desde el contador
+ * {@code value} de la tabla id_generators.
+ */
+@IdGeneratorType(PooledTableIdGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface PooledTableId {
+  String value();
+}
@@ -0,0 +1,62 @@
+package com.tdea.proyecto_final.construccion_de_software.entity;
+
+import java.util.Properties;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import com.tdea.proyecto_final.construccion_de_software.repository.IdBlockAllocator;
+
+/**
+ * TableGenerator de Hibernate sobre id_generators con optimizador pooled-lo.
+ * Conserva la creación de la tabla y el optimizador estándar, pero reserva
+ * cada bloque con {@link IdBlockAllocator}, que usa su propio pool de
+ * conexiones en lugar del principal.
+ */
+public class PooledTableIdGenerator extends TableGenerator {
+
+  private final String sequenceName;
+
+  public PooledTableIdGenerator(PooledTableId config) {
+    this.sequenceName = config.value();
+  }
+
+  @Override
+  public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+    parameters.put(TABLE_PARAM, IdGenerators.TABLE);
+    parameters.put(SEGMENT_COLUMN_PARAM, IdGenerators.NAME_COLUMN);
+    parameters.put(VALUE_COLUMN_PARAM, IdGenerators.VALUE_COLUMN);
+    parameters.put(SEGMENT_VALUE_PARAM, sequenceName);
+    parameters.put(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(IdGenerators.ALLOCATION_SIZE));
+    parameters.put(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+    super.configure(type, parameters, serviceRegistry);
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object object) {
+    IdBlockAllocator allocator = IdBlockAllocator.current();
+    if (allocator == null) {
+      return super.generate(session, object);
+    }
+    return getOptimizer().generate(new AccessCallback() {
+      @Override
+      public IntegralDataTypeHolder getNextValue() {
+        IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class);
+        value.initialize(allocator.allocate(sequenceName, getIncrementSize()));
+        return value;
+      }
+
+      @Override
+      public String getTenantIdentifier() {
+        return session.getTenantIdentifier();
+      }
+    });
+  }
+}
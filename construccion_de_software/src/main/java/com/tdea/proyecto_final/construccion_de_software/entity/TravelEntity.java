@@ -4,13 +4,17 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.hibernate.annotations.Check;
+
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -18,13 +22,25 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "travels")
+// Lo que lee TravelMapper cuando incluye las reservas: reservas y sus usuarios
+@NamedEntityGraph(name = TravelEntity.GRAPH_BOOKING_USERS, attributeNodes = {
+    @NamedAttributeNode(value = "bookings", subgraph = "bookings")
+}, subgraphs = {
+    @NamedSubgraph(name = "bookings", attributeNodes = @NamedAttributeNode("user"))
+})
+@Table(name = "travels", indexes = {
+    @Index(name = "idx_travels_departure_date", columnList = "departure_date"),
+    @Index(name = "idx_travels_destination", columnList = "destination")
+})
+@Check(constraints = "remaining_seats >= 0")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TravelEntity {
+  public static final String GRAPH_BOOKING_USERS = "Travel.bookingUsers";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledTableId("travels")
   private Long id;
   private String destination;
   private LocalDate departureDate;
@@ -34,6 +50,11 @@ public class TravelEntity {
   private String itinerary;
   private String status = "ACTIVE"; // ACTIVE, INACTIVE, CANCELLED
 
+  // Cupos del viaje; null es sin límite. remainingSeats solo cambia con los
+  // UPDATE condicionales de SeatInventory o con la fila bloqueada en updateTravel
+  private Integer capacity;
+  private Integer remainingSeats;
+
   @OneToMany(mappedBy = "travel")
   @JsonManagedReference("travel-bookings")
   private List<BookingEntity> bookings;
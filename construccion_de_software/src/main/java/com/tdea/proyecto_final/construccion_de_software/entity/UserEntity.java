@@ -3,11 +3,10 @@ package com.tdea.proyecto_final.construccion_de_software.entity;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -22,11 +21,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class UserEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledTableId("users")
   private Long id;
   @Column(unique = true, nullable = false)
   private String username;
   @Column(nullable = false)
+  // Se recibe en el registro pero nunca se devuelve el hash
+  @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
   private String password;
   private String rol = "CLIENT";
   @Column(length = 100, nullable = false)
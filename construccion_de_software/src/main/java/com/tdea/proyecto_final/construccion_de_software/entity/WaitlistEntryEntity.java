@@ -0,0 +1,47 @@
+package com.tdea.proyecto_final.construccion_de_software.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Un cliente esperando cupo en un viaje agotado. El orden de la fila es
+ * (enqueued_at, id): el índice lo recorre en ese orden para tomar la cabeza y
+ * para contar cuántos van delante sin leer las filas.
+ */
+@Entity
+@Table(name = "waitlist_entries", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_waitlist_travel_user", columnNames = { "travel_id", "user_id" })
+}, indexes = {
+    @Index(name = "idx_waitlist_travel_order", columnList = "travel_id, enqueued_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryEntity {
+  @Id
+  @PooledTableId("waitlist_entries")
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "travel_id", nullable = false)
+  private TravelEntity travel;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private UserEntity user;
+
+  @Column(nullable = false)
+  private Instant enqueuedAt;
+}
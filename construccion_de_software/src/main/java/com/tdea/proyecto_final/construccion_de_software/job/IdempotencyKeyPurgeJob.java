@@ -0,0 +1,35 @@
+package com.tdea.proyecto_final.construccion_de_software.job;
+
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tdea.proyecto_final.construccion_de_software.repository.IdempotencyKeyRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Elimina de la tabla idempotency_keys las claves cuyo TTL ya venció. La caché
+ * local de IdempotencyService expira por su cuenta.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyPurgeJob {
+
+  private static final Logger log = LoggerFactory.getLogger(IdempotencyKeyPurgeJob.class);
+
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+  @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:1h}")
+  @Transactional
+  public void purge() {
+    int deleted = idempotencyKeyRepository.deleteExpired(Instant.now());
+    if (deleted > 0) {
+      log.info("Purged {} expired idempotency keys", deleted);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.tdea.proyecto_final.construccion_de_software.job;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingBalanceMismatch;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.service.DashboardService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Compara el saldo mantenido en cada reserva ({@code paidAmount}) con la suma
+ * real de sus pagos. Las diferencias se registran y, si está habilitado, se
+ * corrigen. También sirve para rellenar el saldo de reservas creadas antes de
+ * que existiera la columna.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentBalanceReconciliationJob {
+
+  private static final Logger log = LoggerFactory.getLogger(PaymentBalanceReconciliationJob.class);
+
+  private final BookingRepository bookingRepository;
+  private final DashboardService dashboardService;
+  private final PlatformTransactionManager transactionManager;
+
+  @Value("${app.payments.reconciliation.repair:true}")
+  private boolean repair;
+
+  @Value("${app.payments.reconciliation.run-on-startup:true}")
+  private boolean runOnStartup;
+
+  // Llamada directa, sin pasar por el proxy: la transacción se abre aquí
+  @EventListener(ApplicationReadyEvent.class)
+  public void reconcileOnStartup() {
+    if (runOnStartup) {
+      new TransactionTemplate(transactionManager).execute(status -> reconcile());
+    }
+  }
+
+  @Scheduled(cron = "${app.payments.reconciliation.cron:0 0 3 * * *}")
+  @Transactional
+  public int reconcile() {
+    List<BookingBalanceMismatch> mismatches = bookingRepository.findBalanceMismatches();
+    int corrected = 0;
+
+    for (BookingBalanceMismatch mismatch : mismatches) {
+      log.warn("Booking {} has paidAmount {} but its payments add up to {}", mismatch.bookingId(),
+          mismatch.storedAmount(), mismatch.paymentsTotal());
+      if (repair && bookingRepository.correctPaidAmount(mismatch.bookingId(), mismatch.storedAmount(),
+          mismatch.paymentsTotal())) {
+        corrected++;
+      }
+    }
+
+    if (corrected > 0) {
+      // Los saldos corregidos no pasaron por los servicios
+      dashboardService.rebuildBookingTotals();
+    }
+    if (!mismatches.isEmpty()) {
+      log.info("Payment balance reconciliation: {} mismatches, {} corrected", mismatches.size(), corrected);
+    }
+    return corrected;
+  }
+}
@@ -1,11 +1,14 @@
 package com.tdea.proyecto_final.construccion_de_software.mapper;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
 import com.tdea.proyecto_final.construccion_de_software.dto.BookingResponse;
 import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRow;
 
 @Component
 public class BookingMapper {
@@ -17,7 +20,7 @@ public class BookingMapper {
 
     BookingResponse response = new BookingResponse();
     response.setId(booking.getId());
-    response.setStatus(booking.getStatus());
+    response.setStatus(booking.getStatus() == null ? null : booking.getStatus().name());
 
     // Mapear información del usuario
     if (booking.getUser() != null) {
@@ -60,4 +63,30 @@ public class BookingMapper {
 
     return response;
   }
+
+  /**
+   * Respuestas desde filas proyectadas, una por pago y ordenadas por reserva
+   * (BookingRepository.findAllRows): las filas seguidas de la misma reserva se
+   * juntan en una respuesta con todos sus pagos.
+   */
+  public List<BookingResponse> toResponses(List<BookingRow> rows) {
+    List<BookingResponse> responses = new ArrayList<>();
+    BookingResponse current = null;
+    for (BookingRow row : rows) {
+      if (current == null || !current.getId().equals(row.id())) {
+        current = new BookingResponse(row.id(), null, row.status().name(),
+            new BookingResponse.UserInfo(row.userId(), row.username(), row.userName(), row.userSurname(),
+                row.userEmail(), row.userPhoneNumber()),
+            new BookingResponse.TravelInfo(row.travelId(), row.destination(), row.departureDate(),
+                row.returnDate(), row.price(), row.itinerary()),
+            new ArrayList<>());
+        responses.add(current);
+      }
+      if (row.paymentId() != null) {
+        current.getPayments().add(new BookingResponse.PaymentInfo(row.paymentId(), row.paymentAmount(),
+            row.paymentDate(), row.paymentMethod()));
+      }
+    }
+    return responses;
+  }
 }
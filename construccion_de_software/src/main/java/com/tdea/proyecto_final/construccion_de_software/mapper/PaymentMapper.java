@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import com.tdea.proyecto_final.construccion_de_software.dto.PaymentResponse;
 import com.tdea.proyecto_final.construccion_de_software.dto.PaymentSummaryResponse;
 import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.PaymentRow;
 
 @Component
 public class PaymentMapper {
@@ -48,6 +49,16 @@ public class PaymentMapper {
     return response;
   }
 
+  /**
+   * La misma respuesta que {@link #toResponse(PaymentEntity)}, desde una fila
+   * proyectada.
+   */
+  public PaymentResponse toResponse(PaymentRow row) {
+    return new PaymentResponse(row.id(), row.amount(), row.paymentDate(), row.paymentMethod(), row.bookingId(),
+        new PaymentResponse.UserInfo(row.userId(), row.userEmail(), row.userName(), row.userSurname()),
+        new PaymentResponse.TravelInfo(row.travelId(), row.destination(), row.departureDate(), row.returnDate()));
+  }
+
   public List<PaymentResponse> toResponseList(List<PaymentEntity> payments) {
     if (payments == null) {
       return null;
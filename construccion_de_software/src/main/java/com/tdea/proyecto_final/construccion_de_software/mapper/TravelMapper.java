@@ -11,6 +11,10 @@ import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
 public class TravelMapper {
 
   public TravelResponse toResponse(TravelEntity travel) {
+    return toResponse(travel, true);
+  }
+
+  public TravelResponse toResponse(TravelEntity travel, boolean includeBookings) {
     if (travel == null) {
       return null;
     }
@@ -22,15 +26,17 @@ public class TravelMapper {
     response.setReturnDate(travel.getReturnDate());
     response.setPrice(travel.getPrice());
     response.setItinerary(travel.getItinerary());
+    response.setCapacity(travel.getCapacity());
+    response.setRemainingSeats(travel.getRemainingSeats());
 
-    // Mapear las reservas y usuarios
-    if (travel.getBookings() != null) {
+    // Mapear las reservas y usuarios (solo si se piden, para no cargar la colección)
+    if (includeBookings && travel.getBookings() != null) {
       response.setBookings(
           travel.getBookings().stream()
               .map(booking -> {
                 TravelResponse.BookingInfo bookingInfo = new TravelResponse.BookingInfo();
                 bookingInfo.setBookingId(booking.getId());
-                bookingInfo.setStatus(booking.getStatus());
+                bookingInfo.setStatus(booking.getStatus() == null ? null : booking.getStatus().name());
 
                 if (booking.getUser() != null) {
                   TravelResponse.UserInfo userInfo = new TravelResponse.UserInfo();
@@ -0,0 +1,9 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Reserva cuyo saldo mantenido no coincide con la suma real de sus pagos.
+ */
+public record BookingBalanceMismatch(Long bookingId, BigDecimal storedAmount, BigDecimal paymentsTotal) {
+}
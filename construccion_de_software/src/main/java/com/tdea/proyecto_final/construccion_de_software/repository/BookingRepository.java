@@ -1,30 +1,102 @@
 package com.tdea.proyecto_final.construccion_de_software.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
 import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 
 @Repository
-interface JpaBookingRepository extends JpaRepository<BookingEntity, Long> {
+interface JpaBookingRepository extends JpaRepository<BookingEntity, Long>, JpaSpecificationExecutor<BookingEntity> {
+  // Solo las columnas de BookingResponse, una fila por pago, sin entidades
+  // administradas. El orden deja juntas las filas de cada reserva
+  String BOOKING_ROW = "SELECT new com.tdea.proyecto_final.construccion_de_software.repository.BookingRow("
+      + "b.id, b.status, u.id, u.username, u.name, u.surname, u.email, u.phoneNumber, "
+      + "t.id, t.destination, t.departureDate, t.returnDate, t.price, t.itinerary, "
+      + "p.id, p.amount, p.paymentDate, p.paymentMethod) "
+      + "FROM BookingEntity b JOIN b.user u JOIN b.travel t LEFT JOIN b.payments p ";
+
+  @Override
+  @EntityGraph(BookingEntity.GRAPH_DETAIL)
+  List<BookingEntity> findAll();
+
+  @EntityGraph(BookingEntity.GRAPH_DETAIL)
   List<BookingEntity> findByUserId(Long user_id);
+
+  @EntityGraph(BookingEntity.GRAPH_DETAIL)
+  Optional<BookingEntity> findDetailById(Long id);
+
+  @Query(BOOKING_ROW + "ORDER BY b.id, p.id")
+  List<BookingRow> findAllRows();
+
+  @Query(BOOKING_ROW + "WHERE u.id = :userId ORDER BY b.id, p.id")
+  List<BookingRow> findRowsByUserId(@Param("userId") Long userId);
+
+  @EntityGraph(BookingEntity.GRAPH_USER_TRAVEL)
+  Optional<BookingEntity> findWithUserAndTravelById(Long id);
+
+  // Sin joins a propósito: en MySQL un FOR UPDATE con joins también bloquearía
+  // las filas del usuario y del viaje, serializando pagos de otras reservas
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT b FROM BookingEntity b WHERE b.id = :id")
+  Optional<BookingEntity> findForUpdateById(@Param("id") Long id);
+
+  @Query("SELECT new com.tdea.proyecto_final.construccion_de_software.repository.BookingBalanceMismatch("
+      + "b.id, b.paidAmount, COALESCE(SUM(p.amount), 0)) "
+      + "FROM BookingEntity b LEFT JOIN b.payments p "
+      + "GROUP BY b.id, b.paidAmount "
+      + "HAVING b.paidAmount <> COALESCE(SUM(p.amount), 0)")
+  List<BookingBalanceMismatch> findBalanceMismatches();
+
+  @Query("SELECT COUNT(b) FROM BookingEntity b WHERE b.travel.id = :travelId AND b.status IN :statuses")
+  long countByTravelAndStatuses(@Param("travelId") Long travelId,
+      @Param("statuses") Collection<BookingStatus> statuses);
+
+  @Modifying
+  @Query("UPDATE BookingEntity b SET b.paidAmount = :actual, b.version = b.version + 1 "
+      + "WHERE b.id = :id AND b.paidAmount = :expected")
+  int correctPaidAmount(@Param("id") Long id, @Param("expected") BigDecimal expected,
+      @Param("actual") BigDecimal actual);
 }
 
 @Component
 @RequiredArgsConstructor
 public class BookingRepository {
   private final JpaBookingRepository jpaBookingRepository;
+  private final EntityManager entityManager;
 
   public BookingEntity save(BookingEntity booking) {
     return jpaBookingRepository.save(booking);
   }
 
+  /**
+   * Inserta reservas nuevas con INSERT agrupados en lotes JDBC y vacía el
+   * contexto de persistencia para que una importación grande no acumule
+   * entidades en memoria. Debe llamarse dentro de una transacción.
+   */
+  public void insertAll(List<BookingEntity> bookings) {
+    bookings.forEach(entityManager::persist);
+    entityManager.flush();
+    entityManager.clear();
+  }
+
   public void deleteById(Long id) {
     jpaBookingRepository.deleteById(id);
   }
@@ -33,6 +105,37 @@ public class BookingRepository {
     return jpaBookingRepository.findById(id);
   }
 
+  /**
+   * Reserva con usuario, viaje y pagos cargados, lista para BookingMapper.
+   */
+  public Optional<BookingEntity> findDetailById(Long id) {
+    return jpaBookingRepository.findDetailById(id);
+  }
+
+  /**
+   * Reserva con usuario y viaje cargados, para las operaciones de pago.
+   */
+  public Optional<BookingEntity> findWithUserAndTravelById(Long id) {
+    return jpaBookingRepository.findWithUserAndTravelById(id);
+  }
+
+  /**
+   * Lee la reserva con un bloqueo de fila (SELECT ... FOR UPDATE) que dura
+   * hasta el fin de la transacción. Solo bloquea esa reserva, así que las
+   * operaciones sobre reservas distintas siguen en paralelo.
+   */
+  public Optional<BookingEntity> findForUpdateById(Long id) {
+    return jpaBookingRepository.findForUpdateById(id);
+  }
+
+  /**
+   * Reservas del viaje en esos estados, contadas con el índice
+   * (status, travel_id).
+   */
+  public long countByTravel(Long travelId, Collection<BookingStatus> statuses) {
+    return statuses.isEmpty() ? 0 : jpaBookingRepository.countByTravelAndStatuses(travelId, statuses);
+  }
+
   public List<BookingEntity> findAll() {
     return jpaBookingRepository.findAll();
   }
@@ -40,4 +143,45 @@ public class BookingRepository {
   public List<BookingEntity> findByUserId(Long userId) {
     return jpaBookingRepository.findByUserId(userId);
   }
+
+  /**
+   * Todas las reservas como {@link BookingRow}, para listados de solo lectura.
+   */
+  public List<BookingRow> findAllRows() {
+    return jpaBookingRepository.findAllRows();
+  }
+
+  public List<BookingRow> findRowsByUserId(Long userId) {
+    return jpaBookingRepository.findRowsByUserId(userId);
+  }
+
+  public List<BookingEntity> filter(String status, String userEmail, String destination, LocalDate dateFrom,
+      LocalDate dateTo) {
+    return jpaBookingRepository.findAll(
+        BookingSpecifications.filter(status, null, userEmail, null, destination, dateFrom, dateTo));
+  }
+
+  /**
+   * Como {@link #filter}, con los valores exactos que resolvió SuggestionIndex:
+   * user_id = ? en lugar de LIKE sobre el correo y destination = ? en lugar
+   * de LIKE sobre el destino. userEmail solo se aplica si userId es null y
+   * destination solo si exactDestination es null.
+   */
+  public List<BookingEntity> filter(String status, Long userId, String userEmail, String exactDestination,
+      String destination, LocalDate dateFrom, LocalDate dateTo) {
+    return jpaBookingRepository.findAll(
+        BookingSpecifications.filter(status, userId, userEmail, exactDestination, destination, dateFrom, dateTo));
+  }
+
+  public List<BookingBalanceMismatch> findBalanceMismatches() {
+    return jpaBookingRepository.findBalanceMismatches();
+  }
+
+  /**
+   * Corrige el saldo solo si no cambió desde que se leyó, para no pisar un pago
+   * concurrente. Devuelve false si la fila ya no tenía el valor esperado.
+   */
+  public boolean correctPaidAmount(Long bookingId, BigDecimal expected, BigDecimal actual) {
+    return jpaBookingRepository.correctPaidAmount(bookingId, expected, actual) == 1;
+  }
 }
@@ -0,0 +1,18 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+
+/**
+ * Una reserva con su usuario y su viaje y, si tiene, uno de sus pagos: una
+ * fila por pago (o una sola con paymentId null). BookingMapper.toResponses
+ * agrupa las filas consecutivas de la misma reserva.
+ */
+public record BookingRow(Long id, BookingStatus status,
+    Long userId, String username, String userName, String userSurname, String userEmail, String userPhoneNumber,
+    Long travelId, String destination, LocalDate departureDate, LocalDate returnDate, BigDecimal price,
+    String itinerary,
+    Long paymentId, BigDecimal paymentAmount, LocalDate paymentDate, String paymentMethod) {
+}
@@ -0,0 +1,87 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Traduce los filtros opcionales de reservas a predicados SQL para que el
+ * filtrado se haga en la base de datos y no en memoria.
+ */
+final class BookingSpecifications {
+
+  private BookingSpecifications() {
+  }
+
+  @SuppressWarnings("unchecked")
+  static Specification<BookingEntity> filter(String status, Long userId, String userEmail,
+      String exactDestination, String destination, LocalDate dateFrom, LocalDate dateTo) {
+    return (root, query, cb) -> {
+      Join<BookingEntity, UserEntity> user;
+      Join<BookingEntity, TravelEntity> travel;
+
+      // En la consulta de conteo no se puede usar fetch, solo join. Los pagos se
+      // traen en la misma consulta porque BookingMapper también los recorre
+      if (Long.class != query.getResultType() && long.class != query.getResultType()) {
+        user = (Join<BookingEntity, UserEntity>) root.<BookingEntity, UserEntity>fetch("user", JoinType.INNER);
+        travel = (Join<BookingEntity, TravelEntity>) root.<BookingEntity, TravelEntity>fetch("travel", JoinType.INNER);
+        root.fetch("payments", JoinType.LEFT);
+        query.distinct(true);
+      } else {
+        user = root.join("user", JoinType.INNER);
+        travel = root.join("travel", JoinType.INNER);
+      }
+
+      List<Predicate> predicates = new ArrayList<>();
+
+      // Igualdad exacta sobre el enum, que puede usar el índice
+      // (status, travel_id); un estado desconocido no coincide con ninguna fila
+      if (status != null && !status.isBlank()) {
+        predicates.add(BookingStatus.parse(status)
+            .map(parsed -> cb.equal(root.get("status"), parsed))
+            .orElseGet(cb::disjunction));
+      }
+      // Un usuario ya resuelto se compara por la clave foránea user_id
+      if (userId != null) {
+        predicates.add(cb.equal(root.get("user").get("id"), userId));
+      } else if (userEmail != null) {
+        predicates.add(cb.like(cb.lower(user.get("email")), containsPattern(userEmail), '\\'));
+      }
+      // Un destino exacto se compara por igualdad, que puede usar el índice
+      // idx_travels_destination
+      if (exactDestination != null) {
+        predicates.add(cb.equal(travel.get("destination"), exactDestination));
+      } else if (destination != null) {
+        predicates.add(cb.like(cb.lower(travel.get("destination")), containsPattern(destination), '\\'));
+      }
+      if (dateFrom != null) {
+        predicates.add(cb.greaterThanOrEqualTo(travel.get("departureDate"), dateFrom));
+      }
+      if (dateTo != null) {
+        predicates.add(cb.lessThanOrEqualTo(travel.get("departureDate"), dateTo));
+      }
+
+      return cb.and(predicates.toArray(new Predicate[0]));
+    };
+  }
+
+  static String containsPattern(String value) {
+    String escaped = value.toLowerCase(Locale.ROOT)
+        .replace("\\", "\\\\")
+        .replace("%", "\\%")
+        .replace("_", "\\_");
+    return "%" + escaped + "%";
+  }
+}
@@ -0,0 +1,143 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingStatusTotal;
+import com.tdea.proyecto_final.construccion_de_software.dto.DailyRevenue;
+import com.tdea.proyecto_final.construccion_de_software.dto.RevenueTotal;
+
+/**
+ * Tablas de totales del dashboard (booking_status_totals y
+ * payment_daily_totals). Las escrituras suman deltas con un upsert nativo; las
+ * lecturas agrupan los slots, así que cuestan lo que el número de grupos y no
+ * lo que el historial de reservas y pagos.
+ */
+@Component
+public class DashboardRepository {
+
+  private static final String UPSERT_BOOKING_TOTALS = "INSERT INTO booking_status_totals "
+      + "(status, slot, bookings, amount_due, amount_paid) VALUES (?, ?, ?, ?, ?) "
+      + "ON DUPLICATE KEY UPDATE bookings = bookings + VALUES(bookings), "
+      + "amount_due = amount_due + VALUES(amount_due), amount_paid = amount_paid + VALUES(amount_paid)";
+
+  private static final String UPSERT_PAYMENT_TOTALS = "INSERT INTO payment_daily_totals "
+      + "(payment_date, payment_method, travel_id, slot, payments, amount) VALUES (?, ?, ?, ?, ?, ?) "
+      + "ON DUPLICATE KEY UPDATE payments = payments + VALUES(payments), amount = amount + VALUES(amount)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  public DashboardRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+  }
+
+  public void addBookingTotals(String status, int slot, long bookings, BigDecimal amountDue, BigDecimal amountPaid) {
+    jdbcTemplate.update(UPSERT_BOOKING_TOTALS, status, slot, bookings, amountDue, amountPaid);
+  }
+
+  public void addPaymentTotals(LocalDate paymentDate, String paymentMethod, Long travelId, int slot, long payments,
+      BigDecimal amount) {
+    jdbcTemplate.update(UPSERT_PAYMENT_TOTALS, Date.valueOf(paymentDate), paymentMethod, travelId, slot, payments,
+        amount);
+  }
+
+  /**
+   * Suma a los totales las reservas ya insertadas con esos ids, agrupadas por
+   * estado en la propia base de datos (importación masiva).
+   */
+  public void addBookingTotalsOf(Collection<Long> bookingIds, int slot) {
+    if (bookingIds.isEmpty()) {
+      return;
+    }
+    namedJdbcTemplate.update("INSERT INTO booking_status_totals "
+        + "(status, slot, bookings, amount_due, amount_paid) "
+        + "SELECT b.status, :slot, COUNT(*), SUM(t.price), SUM(b.paid_amount) "
+        + "FROM bookings b JOIN travels t ON t.id = b.travel_id "
+        + "WHERE b.id IN (:ids) GROUP BY b.status "
+        + "ON DUPLICATE KEY UPDATE bookings = bookings + VALUES(bookings), "
+        + "amount_due = amount_due + VALUES(amount_due), amount_paid = amount_paid + VALUES(amount_paid)",
+        new MapSqlParameterSource("ids", bookingIds).addValue("slot", slot));
+  }
+
+  /**
+   * Reservas de un viaje por estado, para ajustar amount_due cuando cambia su
+   * precio. Usa el índice de la clave foránea travel_id.
+   */
+  public Map<String, Long> countBookingsByStatus(Long travelId) {
+    Map<String, Long> counts = new HashMap<>();
+    RowCallbackHandler collect = rs -> counts.put(rs.getString(1), rs.getLong(2));
+    jdbcTemplate.query("SELECT status, COUNT(*) FROM bookings WHERE travel_id = ? GROUP BY status", collect,
+        travelId);
+    return counts;
+  }
+
+  public List<BookingStatusTotal> findBookingTotals() {
+    return jdbcTemplate.query("SELECT status, SUM(bookings), SUM(amount_due), SUM(amount_paid) "
+        + "FROM booking_status_totals GROUP BY status HAVING SUM(bookings) <> 0 ORDER BY status",
+        (rs, row) -> new BookingStatusTotal(rs.getString(1), rs.getLong(2), rs.getBigDecimal(3),
+            rs.getBigDecimal(4)));
+  }
+
+  public List<RevenueTotal> findRevenueByPaymentMethod() {
+    return jdbcTemplate.query("SELECT payment_method, SUM(payments), SUM(amount) FROM payment_daily_totals "
+        + "GROUP BY payment_method HAVING SUM(payments) <> 0 ORDER BY payment_method",
+        (rs, row) -> new RevenueTotal(rs.getString(1), rs.getLong(2), rs.getBigDecimal(3)));
+  }
+
+  public List<DailyRevenue> findRevenueByDay(LocalDate from, LocalDate to) {
+    return jdbcTemplate.query("SELECT payment_date, SUM(payments), SUM(amount) FROM payment_daily_totals "
+        + "WHERE payment_date BETWEEN ? AND ? "
+        + "GROUP BY payment_date HAVING SUM(payments) <> 0 ORDER BY payment_date",
+        (rs, row) -> new DailyRevenue(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getBigDecimal(3)),
+        Date.valueOf(from), Date.valueOf(to));
+  }
+
+  public List<RevenueTotal> findRevenueByDestination() {
+    return jdbcTemplate.query("SELECT t.destination, SUM(p.payments), SUM(p.amount) "
+        + "FROM payment_daily_totals p JOIN travels t ON t.id = p.travel_id "
+        + "GROUP BY t.destination HAVING SUM(p.payments) <> 0 ORDER BY t.destination",
+        (rs, row) -> new RevenueTotal(rs.getString(1), rs.getLong(2), rs.getBigDecimal(3)));
+  }
+
+  public boolean isEmpty() {
+    Integer rows = jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM booking_status_totals) "
+        + "+ (SELECT COUNT(*) FROM payment_daily_totals)", Integer.class);
+    return rows == null || rows == 0;
+  }
+
+  /**
+   * Recalcula los totales de reservas desde cero (slot 0).
+   */
+  public void rebuildBookingTotals() {
+    jdbcTemplate.update("DELETE FROM booking_status_totals");
+    jdbcTemplate.update("INSERT INTO booking_status_totals (status, slot, bookings, amount_due, amount_paid) "
+        + "SELECT b.status, 0, COUNT(*), SUM(t.price), SUM(b.paid_amount) "
+        + "FROM bookings b JOIN travels t ON t.id = b.travel_id WHERE b.status IS NOT NULL GROUP BY b.status");
+  }
+
+  /**
+   * Recalcula los ingresos desde cero (slot 0).
+   */
+  public void rebuildPaymentTotals() {
+    jdbcTemplate.update("DELETE FROM payment_daily_totals");
+    jdbcTemplate.update("INSERT INTO payment_daily_totals "
+        + "(payment_date, payment_method, travel_id, slot, payments, amount) "
+        + "SELECT p.payment_date, p.payment_method, b.travel_id, 0, COUNT(*), SUM(p.amount) "
+        + "FROM payments p JOIN bookings b ON b.id = p.booking_id "
+        + "WHERE p.payment_date IS NOT NULL AND p.payment_method IS NOT NULL "
+        + "GROUP BY p.payment_date, p.payment_method, b.travel_id");
+  }
+}
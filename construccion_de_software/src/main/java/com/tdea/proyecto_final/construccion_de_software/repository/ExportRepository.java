@@ -0,0 +1,85 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consultas de exportación que recorren pagos y reservas con un cursor de solo
+ * avance: cada fila se entrega al manejador y se descarta, sin entidades ni
+ * listas intermedias. Con MySQL el fetch size solo abre un cursor en el
+ * servidor si la URL lleva useCursorFetch=true; sin él el driver trae el
+ * resultado completo a memoria.
+ *
+ * El orden de las columnas de cada SELECT es el de PAYMENT_COLUMNS y
+ * BOOKING_COLUMNS.
+ */
+@Component
+public class ExportRepository {
+
+  // Mismos campos que PaymentMapper.toResponse, aplanados
+  public static final List<String> PAYMENT_COLUMNS = List.of("id", "amount", "paymentDate", "paymentMethod",
+      "bookingId", "userId", "userEmail", "userFirstName", "userLastName", "travelId", "travelDestination",
+      "travelDepartureDate", "travelReturnDate");
+
+  public static final List<String> BOOKING_COLUMNS = List.of("id", "status", "paidAmount", "userId",
+      "userUsername", "userName", "userSurname", "userEmail", "userPhoneNumber", "travelId", "travelDestination",
+      "travelDepartureDate", "travelReturnDate", "travelPrice");
+
+  private static final String SELECT_PAYMENTS = "SELECT p.id, p.amount, p.payment_date, p.payment_method, "
+      + "p.booking_id, u.id, u.email, u.name, u.surname, t.id, t.destination, t.departure_date, t.return_date "
+      + "FROM payments p JOIN bookings b ON b.id = p.booking_id "
+      + "JOIN users u ON u.id = b.user_id JOIN travels t ON t.id = b.travel_id";
+
+  private static final String SELECT_BOOKINGS = "SELECT b.id, b.status, b.paid_amount, u.id, u.username, "
+      + "u.name, u.surname, u.email, u.phone_number, t.id, t.destination, t.departure_date, t.return_date, t.price "
+      + "FROM bookings b JOIN users u ON u.id = b.user_id JOIN travels t ON t.id = b.travel_id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ExportRepository(DataSource dataSource, @Value("${app.export.fetch-size:1000}") int fetchSize) {
+    // Plantilla propia para no cambiar el fetch size de las demás consultas
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+  }
+
+  /**
+   * Pagos con fecha entre from y to (ambos opcionales e inclusivos), en orden
+   * de fecha e id sobre idx_payments_date_id.
+   */
+  public void forEachPayment(LocalDate from, LocalDate to, RowCallbackHandler handler) {
+    query(SELECT_PAYMENTS, "p.payment_date", from, to, "p.payment_date, p.id", handler);
+  }
+
+  /**
+   * Reservas cuyo viaje sale entre from y to (ambos opcionales e inclusivos);
+   * las reservas no guardan fecha propia.
+   */
+  public void forEachBooking(LocalDate from, LocalDate to, RowCallbackHandler handler) {
+    query(SELECT_BOOKINGS, "t.departure_date", from, to, "b.id", handler);
+  }
+
+  private void query(String select, String dateColumn, LocalDate from, LocalDate to, String orderBy,
+      RowCallbackHandler handler) {
+    StringBuilder sql = new StringBuilder(select);
+    List<Object> args = new ArrayList<>(2);
+    if (from != null) {
+      sql.append(" WHERE ").append(dateColumn).append(" >= ?");
+      args.add(Date.valueOf(from));
+    }
+    if (to != null) {
+      sql.append(args.isEmpty() ? " WHERE " : " AND ").append(dateColumn).append(" <= ?");
+      args.add(Date.valueOf(to));
+    }
+    sql.append(" ORDER BY ").append(orderBy);
+    jdbcTemplate.query(sql.toString(), handler, args.toArray());
+  }
+}
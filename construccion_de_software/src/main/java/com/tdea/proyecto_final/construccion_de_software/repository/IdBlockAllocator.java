@@ -0,0 +1,84 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.IdGenerators;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reserva bloques de ids en la tabla id_generators usando un pool de
+ * conexiones propio y pequeño. El generador de Hibernate necesita una segunda
+ * conexión, fuera de la transacción en curso, para que el contador avance
+ * aunque esa transacción se revierta; si la tomara del pool principal, con
+ * todas las conexiones ocupadas por transacciones que esperan un id el pool
+ * quedaría bloqueado hasta el timeout.
+ *
+ * Hibernate instancia los generadores por su cuenta, por eso
+ * PooledTableIdGenerator llega a este bean mediante {@link #current()}.
+ */
+@Component
+public class IdBlockAllocator {
+
+  private static volatile IdBlockAllocator current;
+
+  private final HikariDataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public IdBlockAllocator(DataSourceProperties dataSourceProperties,
+      @Value("${app.id-generator.pool-size:2}") int poolSize) {
+    this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    this.dataSource.setPoolName("id-generator");
+    this.dataSource.setMaximumPoolSize(poolSize);
+    this.dataSource.setMinimumIdle(1);
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+  }
+
+  /**
+   * El asignador activo, o null fuera de la aplicación completa (por ejemplo en
+   * pruebas @DataJpaTest), donde se usa el mecanismo estándar de Hibernate.
+   */
+  public static IdBlockAllocator current() {
+    return current;
+  }
+
+  @PostConstruct
+  void register() {
+    current = this;
+  }
+
+  @PreDestroy
+  void close() {
+    if (current == this) {
+      current = null;
+    }
+    dataSource.close();
+  }
+
+  /**
+   * Avanza el contador en {@code size} y devuelve el primer id del bloque
+   * reservado. next_val guarda el último id reservado, igual que el
+   * TableGenerator de Hibernate.
+   */
+  public long allocate(String sequenceName, int size) {
+    return transactionTemplate.execute(status -> {
+      int updated = jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = "
+          + IdGenerators.VALUE_COLUMN + " + ? WHERE " + IdGenerators.NAME_COLUMN + " = ?", size, sequenceName);
+      if (updated == 0) {
+        throw new IllegalStateException("No row for id generator '" + sequenceName + "' in " + IdGenerators.TABLE);
+      }
+      Long last = jdbcTemplate.queryForObject("SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+          + " WHERE " + IdGenerators.NAME_COLUMN + " = ?", Long.class, sequenceName);
+      return last - size + 1;
+    });
+  }
+}
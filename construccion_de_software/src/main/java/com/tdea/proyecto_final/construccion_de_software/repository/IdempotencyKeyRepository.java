@@ -0,0 +1,56 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.IdempotencyKeyEntity;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+interface JpaIdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+  @Modifying
+  @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.expiresAt < :now")
+  int deleteExpired(@Param("now") Instant now);
+}
+
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+  private final JpaIdempotencyKeyRepository jpaIdempotencyKeyRepository;
+  private final EntityManager entityManager;
+
+  /**
+   * Inserta la clave y fuerza el INSERT de inmediato; si otra petición ya la
+   * registró, la clave primaria duplicada hace fallar esta llamada.
+   */
+  public void insert(IdempotencyKeyEntity key) {
+    entityManager.persist(key);
+    entityManager.flush();
+  }
+
+  public IdempotencyKeyEntity save(IdempotencyKeyEntity key) {
+    return jpaIdempotencyKeyRepository.save(key);
+  }
+
+  public Optional<IdempotencyKeyEntity> findById(String id) {
+    return jpaIdempotencyKeyRepository.findById(id);
+  }
+
+  public void deleteById(String id) {
+    jpaIdempotencyKeyRepository.deleteById(id);
+  }
+
+  public int deleteExpired(Instant now) {
+    return jpaIdempotencyKeyRepository.deleteExpired(now);
+  }
+}
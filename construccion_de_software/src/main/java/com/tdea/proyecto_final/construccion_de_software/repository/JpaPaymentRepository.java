@@ -1,8 +1,11 @@
 package com.tdea.proyecto_final.construccion_de_software.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,15 +13,40 @@ import org.springframework.stereotype.Repository;
 import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
 
 @Repository
-public interface JpaPaymentRepository extends JpaRepository<PaymentEntity, Long> {
+public interface JpaPaymentRepository extends JpaRepository<PaymentEntity, Long>, JpaSpecificationExecutor<PaymentEntity> {
+
+  // Solo las columnas de PaymentResponse; el resultado no entra al contexto
+  // de persistencia, así que no hay instantáneas ni revisión de cambios
+  String PAYMENT_ROW = "SELECT new com.tdea.proyecto_final.construccion_de_software.repository.PaymentRow("
+      + "p.id, p.amount, p.paymentDate, p.paymentMethod, b.id, u.id, u.email, u.name, u.surname, "
+      + "t.id, t.destination, t.departureDate, t.returnDate) "
+      + "FROM PaymentEntity p JOIN p.booking b JOIN b.user u JOIN b.travel t ";
+
+  @Override
+  @EntityGraph(PaymentEntity.GRAPH_BOOKING_DETAIL)
+  List<PaymentEntity> findAll();
+
+  @EntityGraph(PaymentEntity.GRAPH_BOOKING_DETAIL)
+  Optional<PaymentEntity> findDetailById(Long id);
 
   List<PaymentEntity> findByBookingId(Long bookingId);
 
+  @EntityGraph(PaymentEntity.GRAPH_BOOKING_DETAIL)
   List<PaymentEntity> findByBookingIdOrderByPaymentDateDesc(Long bookingId);
 
+  @EntityGraph(PaymentEntity.GRAPH_BOOKING_DETAIL)
   @Query("SELECT p FROM PaymentEntity p WHERE p.booking.user.id = :userId ORDER BY p.paymentDate DESC")
   List<PaymentEntity> findByUserIdOrderByPaymentDateDesc(@Param("userId") Long userId);
 
+  @Query(PAYMENT_ROW + "ORDER BY p.id")
+  List<PaymentRow> findAllRows();
+
+  @Query(PAYMENT_ROW + "WHERE b.id = :bookingId ORDER BY p.paymentDate DESC")
+  List<PaymentRow> findRowsByBookingId(@Param("bookingId") Long bookingId);
+
+  @Query(PAYMENT_ROW + "WHERE u.id = :userId ORDER BY p.paymentDate DESC")
+  List<PaymentRow> findRowsByUserId(@Param("userId") Long userId);
+
   @Query("SELECT COALESCE(SUM(p.amount), 0) FROM PaymentEntity p WHERE p.booking.id = :bookingId")
   java.math.BigDecimal getTotalPaidAmountByBookingId(@Param("bookingId") Long bookingId);
 }
@@ -1,11 +1,14 @@
 package com.tdea.proyecto_final.construccion_de_software.repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentCursor;
 import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
 
 import lombok.RequiredArgsConstructor;
@@ -13,6 +16,8 @@ import lombok.RequiredArgsConstructor;
 @Component
 @RequiredArgsConstructor
 public class PaymentRepository {
+  private static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.DESC, "paymentDate", "id");
+
   private final JpaPaymentRepository jpaPaymentRepository;
 
   public PaymentEntity save(PaymentEntity payment) {
@@ -23,6 +28,13 @@ public class PaymentRepository {
     return jpaPaymentRepository.findById(id);
   }
 
+  /**
+   * Pago con su reserva, usuario y viaje cargados, listo para PaymentMapper.
+   */
+  public Optional<PaymentEntity> findDetailById(Long id) {
+    return jpaPaymentRepository.findDetailById(id);
+  }
+
   public List<PaymentEntity> findByBookingId(Long bookingId) {
     return jpaPaymentRepository.findByBookingId(bookingId);
   }
@@ -46,4 +58,51 @@ public class PaymentRepository {
   public List<PaymentEntity> findAll() {
     return jpaPaymentRepository.findAll();
   }
+
+  /**
+   * Todos los pagos como {@link PaymentRow}, para listados de solo lectura.
+   */
+  public List<PaymentRow> findAllRows() {
+    return jpaPaymentRepository.findAllRows();
+  }
+
+  public List<PaymentRow> findRowsByBookingId(Long bookingId) {
+    return jpaPaymentRepository.findRowsByBookingId(bookingId);
+  }
+
+  public List<PaymentRow> findRowsByUserId(Long userId) {
+    return jpaPaymentRepository.findRowsByUserId(userId);
+  }
+
+  /**
+   * Devuelve hasta {@code limit} pagos que cumplen los filtros, empezando
+   * después de {@code after} en el orden (paymentDate DESC, id DESC).
+   */
+  public List<PaymentEntity> filter(String userEmail, String paymentMethod, BigDecimal minAmount,
+      BigDecimal maxAmount, LocalDate dateFrom, LocalDate dateTo, PaymentCursor after, int limit) {
+    return filter(null, userEmail, paymentMethod, minAmount, maxAmount, dateFrom, dateTo, after, limit);
+  }
+
+  /**
+   * Como el anterior; si userId no es null se filtra por user_id y se ignora
+   * userEmail.
+   */
+  public List<PaymentEntity> filter(Long userId, String userEmail, String paymentMethod, BigDecimal minAmount,
+      BigDecimal maxAmount, LocalDate dateFrom, LocalDate dateTo, PaymentCursor after, int limit) {
+    return jpaPaymentRepository.findBy(
+        PaymentSpecifications.filter(userId, userEmail, paymentMethod, minAmount, maxAmount, dateFrom, dateTo,
+            after),
+        query -> query.sortBy(KEYSET_ORDER).limit(limit).all());
+  }
+
+  /**
+   * Todos los pagos que cumplen los filtros, en el mismo orden que las páginas.
+   */
+  public List<PaymentEntity> filter(Long userId, String userEmail, String paymentMethod, BigDecimal minAmount,
+      BigDecimal maxAmount, LocalDate dateFrom, LocalDate dateTo) {
+    return jpaPaymentRepository.findBy(
+        PaymentSpecifications.filter(userId, userEmail, paymentMethod, minAmount, maxAmount, dateFrom, dateTo,
+            null),
+        query -> query.sortBy(KEYSET_ORDER).all());
+  }
 }
@@ -0,0 +1,13 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Columnas que lee PaymentMapper de un pago, su usuario y su viaje, sin
+ * cargar entidades: ni el itinerario ni el resto de la reserva.
+ */
+public record PaymentRow(Long id, BigDecimal amount, LocalDate paymentDate, String paymentMethod, Long bookingId,
+    Long userId, String userEmail, String userName, String userSurname,
+    Long travelId, String destination, LocalDate departureDate, LocalDate returnDate) {
+}
@@ -0,0 +1,81 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentCursor;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Filtros de pagos traducidos a SQL, con paginación por keyset sobre
+ * (paymentDate, id) en orden descendente.
+ */
+final class PaymentSpecifications {
+
+  private PaymentSpecifications() {
+  }
+
+  @SuppressWarnings("unchecked")
+  static Specification<PaymentEntity> filter(Long userId, String userEmail, String paymentMethod, BigDecimal minAmount,
+      BigDecimal maxAmount, LocalDate dateFrom, LocalDate dateTo, PaymentCursor after) {
+    return (root, query, cb) -> {
+      Join<BookingEntity, UserEntity> user;
+
+      if (Long.class != query.getResultType() && long.class != query.getResultType()) {
+        Fetch<PaymentEntity, BookingEntity> bookingFetch = root.fetch("booking", JoinType.INNER);
+        bookingFetch.fetch("travel", JoinType.INNER);
+        user = (Join<BookingEntity, UserEntity>) bookingFetch.<BookingEntity, UserEntity>fetch("user", JoinType.INNER);
+      } else {
+        Join<PaymentEntity, BookingEntity> booking = root.join("booking", JoinType.INNER);
+        user = booking.join("user", JoinType.INNER);
+      }
+
+      List<Predicate> predicates = new ArrayList<>();
+
+      if (userId != null) {
+        predicates.add(cb.equal(user.get("id"), userId));
+      } else if (userEmail != null) {
+        predicates.add(cb.like(cb.lower(user.get("email")), BookingSpecifications.containsPattern(userEmail), '\\'));
+      }
+      if (paymentMethod != null && !paymentMethod.isBlank()) {
+        predicates.add(cb.equal(root.get("paymentMethod"), paymentMethod.trim().toUpperCase(Locale.ROOT)));
+      }
+      if (minAmount != null) {
+        predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), minAmount));
+      }
+      if (maxAmount != null) {
+        predicates.add(cb.lessThanOrEqualTo(root.get("amount"), maxAmount));
+      }
+      if (dateFrom != null) {
+        predicates.add(cb.greaterThanOrEqualTo(root.get("paymentDate"), dateFrom));
+      }
+      if (dateTo != null) {
+        predicates.add(cb.lessThanOrEqualTo(root.get("paymentDate"), dateTo));
+      }
+
+      // Keyset: solo filas estrictamente posteriores al cursor en el orden
+      // (paymentDate DESC, id DESC), resuelto con el índice idx_payments_date_id
+      if (after != null) {
+        predicates.add(cb.or(
+            cb.lessThan(root.get("paymentDate"), after.paymentDate()),
+            cb.and(
+                cb.equal(root.get("paymentDate"), after.paymentDate()),
+                cb.lessThan(root.get("id"), after.id()))));
+      }
+
+      return cb.and(predicates.toArray(new Predicate[0]));
+    };
+  }
+}
@@ -1,18 +1,76 @@
 package com.tdea.proyecto_final.construccion_de_software.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
 import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import lombok.RequiredArgsConstructor;
 
 @Repository
 interface JpaTravelRepository extends JpaRepository<TravelEntity, Long> {
+  @EntityGraph(TravelEntity.GRAPH_BOOKING_USERS)
+  @Query("SELECT t FROM TravelEntity t")
+  List<TravelEntity> findAllWithBookings();
+
+  @EntityGraph(TravelEntity.GRAPH_BOOKING_USERS)
+  Optional<TravelEntity> findDetailById(Long id);
+
+  List<TravelEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  @Query("SELECT t FROM TravelEntity t ORDER BY t.id")
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<TravelEntity> streamAllOrderById();
+
+  @Query("SELECT t.id FROM TravelEntity t WHERE t.id IN :ids")
+  Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+  // Containing escapa % y _ del texto recibido
+  List<TravelEntity> findByDestinationContainingIgnoreCase(String destination);
+
+  List<TravelEntity> findByDestination(String destination);
+
+  @Query("SELECT new com.tdea.proyecto_final.construccion_de_software.repository.TravelSearchText("
+      + "t.id, t.destination, t.itinerary) FROM TravelEntity t")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  List<TravelSearchText> findSearchTexts();
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT t FROM TravelEntity t WHERE t.id = :id")
+  Optional<TravelEntity> findForUpdateById(@Param("id") Long id);
+
+  // remaining_seats NULL (sin límite) sigue en NULL, pero la fila igual se
+  // bloquea, así que un cambio de capacidad concurrente espera a la reserva
+  @Modifying
+  @Query("UPDATE TravelEntity t SET t.remainingSeats = t.remainingSeats - :seats "
+      + "WHERE t.id = :id AND (t.remainingSeats IS NULL OR t.remainingSeats >= :seats)")
+  int reserveSeats(@Param("id") Long id, @Param("seats") int seats);
+
+  @Modifying
+  @Query("UPDATE TravelEntity t SET t.remainingSeats = least(t.remainingSeats + :seats, t.capacity) "
+      + "WHERE t.id = :id AND t.remainingSeats IS NOT NULL")
+  int releaseSeats(@Param("id") Long id, @Param("seats") int seats);
 }
 
 @Component
@@ -20,6 +78,7 @@ interface JpaTravelRepository extends JpaRepository<TravelEntity, Long> {
 public class TravelRepository {
 
   private final JpaTravelRepository jpaTravelRepository;
+  private final EntityManager entityManager;
 
   public TravelEntity save(TravelEntity travel) {
     return jpaTravelRepository.save(travel);
@@ -33,8 +92,110 @@ public class TravelRepository {
     return jpaTravelRepository.findById(id);
   }
 
+  /**
+   * Lee el viaje con un bloqueo de fila (SELECT ... FOR UPDATE) hasta el fin
+   * de la transacción; las reservas del viaje esperan mientras tanto.
+   */
+  public Optional<TravelEntity> findForUpdateById(Long id) {
+    return jpaTravelRepository.findForUpdateById(id);
+  }
+
+  /**
+   * Descuenta seats cupos con un solo UPDATE condicional. Devuelve false si
+   * no quedan suficientes; un viaje sin límite siempre los concede.
+   */
+  public boolean reserveSeats(Long id, int seats) {
+    return jpaTravelRepository.reserveSeats(id, seats) == 1;
+  }
+
+  /**
+   * Devuelve cupos sin superar la capacidad.
+   */
+  public void releaseSeats(Long id, int seats) {
+    jpaTravelRepository.releaseSeats(id, seats);
+  }
+
+  /**
+   * Viaje con sus reservas y los usuarios de cada reserva, listo para
+   * TravelMapper.
+   */
+  public Optional<TravelEntity> findDetailById(Long id) {
+    return jpaTravelRepository.findDetailById(id);
+  }
+
+  /**
+   * Solo las filas de travels; las reservas se cargan de forma perezosa (en
+   * lotes de default_batch_fetch_size) si alguien las recorre.
+   */
   public List<TravelEntity> findAll() {
     return jpaTravelRepository.findAll();
   }
 
+  /**
+   * Todos los viajes con sus reservas y los usuarios de cada reserva en una
+   * sola consulta, para respuestas que incluyen las reservas.
+   */
+  public List<TravelEntity> findAllWithBookings() {
+    return jpaTravelRepository.findAllWithBookings();
+  }
+
+  /**
+   * Cuáles de los ids existen, en una sola consulta que no carga las entidades.
+   */
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    return ids.isEmpty() ? Set.of() : jpaTravelRepository.findExistingIds(ids);
+  }
+
+  /**
+   * Viajes cuyo destino contiene el texto, sin distinguir mayúsculas. Como
+   * {@link #findAll()}, no trae las reservas.
+   */
+  public List<TravelEntity> findByDestinationContaining(String destination) {
+    return jpaTravelRepository.findByDestinationContainingIgnoreCase(destination);
+  }
+
+  /**
+   * Viajes con ese destino exacto, por igualdad sobre idx_travels_destination.
+   */
+  public List<TravelEntity> findByDestination(String destination) {
+    return jpaTravelRepository.findByDestination(destination);
+  }
+
+  /**
+   * Id, destino e itinerario de todo el catálogo, para construir el índice de
+   * búsqueda.
+   */
+  public List<TravelSearchText> findSearchTexts() {
+    return jpaTravelRepository.findSearchTexts();
+  }
+
+  /**
+   * Referencia sin consulta para asociar un viaje que ya se sabe que existe.
+   */
+  public TravelEntity getReference(Long id) {
+    return jpaTravelRepository.getReferenceById(id);
+  }
+
+  /**
+   * Página de viajes ordenada por id, empezando después de {@code afterId}.
+   */
+  public List<TravelEntity> findPage(Long afterId, int limit) {
+    return jpaTravelRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, Limit.of(limit));
+  }
+
+  /**
+   * Recorre el catálogo con un cursor de base de datos. Debe consumirse dentro
+   * de una transacción y cerrarse al terminar.
+   */
+  public Stream<TravelEntity> streamAll() {
+    return jpaTravelRepository.streamAllOrderById();
+  }
+
+  /**
+   * Libera las entidades ya leídas (viajes y lo que se haya cargado con ellos)
+   * mientras se recorre {@link #streamAll()}.
+   */
+  public void clearLoaded() {
+    entityManager.clear();
+  }
 }
@@ -0,0 +1,8 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+/**
+ * Textos de un viaje que indexa TravelSearchIndex, leídos sin cargar la
+ * entidad.
+ */
+public record TravelSearchText(Long id, String destination, String itinerary) {
+}
@@ -0,0 +1,7 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+/**
+ * Id y correo de un usuario, para el índice de sugerencias.
+ */
+public record UserEmail(Long id, String email) {
+}
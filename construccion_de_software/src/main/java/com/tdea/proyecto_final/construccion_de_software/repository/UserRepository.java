@@ -1,36 +1,96 @@
 package com.tdea.proyecto_final.construccion_de_software.repository;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
 
-import lombok.RequiredArgsConstructor;
-
 @Repository
 interface JpaUserRepository extends JpaRepository<UserEntity, Long> {
   Optional<UserEntity> findByUsername(String username);
+
+  @Query("SELECT u.id FROM UserEntity u WHERE u.id IN :ids")
+  Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT new com.tdea.proyecto_final.construccion_de_software.repository.UserEmail(u.id, u.email) "
+      + "FROM UserEntity u")
+  List<UserEmail> findEmails();
 }
 
 @Component
-@RequiredArgsConstructor
 public class UserRepository {
 
   private final JpaUserRepository jpaUserRepository;
+  // Nombres consultados que no existen, para que los intentos repetidos con
+  // usuarios inventados no lleguen a la base de datos
+  private final Cache<String, Boolean> unknownUsernames;
+
+  public UserRepository(JpaUserRepository jpaUserRepository,
+      @Value("${app.security.unknown-users.cache-size:100000}") long cacheSize,
+      @Value("${app.security.unknown-users.ttl:30s}") Duration ttl) {
+    this.jpaUserRepository = jpaUserRepository;
+    this.unknownUsernames = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfterWrite(ttl)
+        .build();
+  }
 
   public UserEntity save(UserEntity user) {
-    return jpaUserRepository.save(user);
+    UserEntity saved = jpaUserRepository.save(user);
+    unknownUsernames.invalidate(saved.getUsername());
+    return saved;
   }
 
+  /**
+   * Un nombre que no existía se recuerda durante el TTL configurado; un
+   * registro en este nodo lo olvida de inmediato, uno en otro nodo al vencer.
+   */
   public Optional<UserEntity> findByUsername(String username) {
-    return jpaUserRepository.findByUsername(username);
+    if (username == null || unknownUsernames.getIfPresent(username) != null) {
+      return Optional.empty();
+    }
+    Optional<UserEntity> user = jpaUserRepository.findByUsername(username);
+    if (user.isEmpty()) {
+      unknownUsernames.put(username, Boolean.TRUE);
+    }
+    return user;
   }
 
   public Optional<UserEntity> findById(Long id) {
     return jpaUserRepository.findById(id);
   }
 
+  /**
+   * Cuáles de los ids existen, en una sola consulta que no carga las entidades.
+   */
+  public Set<Long> findExistingIds(Collection<Long> ids) {
+    return ids.isEmpty() ? Set.of() : jpaUserRepository.findExistingIds(ids);
+  }
+
+  /**
+   * Id y correo de todos los usuarios, sin cargar las entidades.
+   */
+  public List<UserEmail> findEmails() {
+    return jpaUserRepository.findEmails();
+  }
+
+  /**
+   * Referencia sin consulta para asociar un usuario que ya se sabe que existe.
+   */
+  public UserEntity getReference(Long id) {
+    return jpaUserRepository.getReferenceById(id);
+  }
+
 }
@@ -0,0 +1,106 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.WaitlistEntryEntity;
+
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+interface JpaWaitlistRepository extends JpaRepository<WaitlistEntryEntity, Long> {
+  Optional<WaitlistEntryEntity> findByTravelIdAndUserId(Long travelId, Long userId);
+
+  boolean existsByTravelId(Long travelId);
+
+  // Recorre en el índice (travel_id, enqueued_at, id) las entradas que van
+  // delante, sin leer la tabla: el costo crece con el puesto, no con la fila
+  @Query("SELECT COUNT(w) FROM WaitlistEntryEntity w WHERE w.travel.id = :travelId "
+      + "AND (w.enqueuedAt < :enqueuedAt OR (w.enqueuedAt = :enqueuedAt AND w.id < :id))")
+  long countAhead(@Param("travelId") Long travelId, @Param("enqueuedAt") Instant enqueuedAt,
+      @Param("id") Long id);
+
+  @Query("SELECT w.id FROM WaitlistEntryEntity w WHERE w.travel.id = :travelId ORDER BY w.enqueuedAt, w.id")
+  List<Long> findHeadIds(@Param("travelId") Long travelId, Limit limit);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<WaitlistEntryEntity> findByTravelIdOrderByEnqueuedAtAscIdAsc(Long travelId, Limit limit);
+
+  @Query("SELECT DISTINCT w.travel.id FROM WaitlistEntryEntity w "
+      + "WHERE w.travel.remainingSeats IS NULL OR w.travel.remainingSeats > 0")
+  List<Long> findTravelIdsWithFreeSeats();
+}
+
+@Component
+@RequiredArgsConstructor
+public class WaitlistRepository {
+
+  private final JpaWaitlistRepository jpaWaitlistRepository;
+
+  public WaitlistEntryEntity save(WaitlistEntryEntity entry) {
+    return jpaWaitlistRepository.save(entry);
+  }
+
+  public void delete(WaitlistEntryEntity entry) {
+    jpaWaitlistRepository.delete(entry);
+  }
+
+  public void deleteAll(List<WaitlistEntryEntity> entries) {
+    jpaWaitlistRepository.deleteAllInBatch(entries);
+  }
+
+  public Optional<WaitlistEntryEntity> findByTravelAndUser(Long travelId, Long userId) {
+    return jpaWaitlistRepository.findByTravelIdAndUserId(travelId, userId);
+  }
+
+  /**
+   * Puesto en la fila, empezando en 1: los que entraron antes más uno. Se
+   * cuentan con un rango sobre el índice, así que cuesta O(puesto) entradas
+   * de índice y no depende de cuántos esperan detrás. Una secuencia por viaje
+   * no lo haría O(log n): quienes salen de la fila dejan huecos que habría
+   * que descontar igualmente.
+   */
+  public long position(WaitlistEntryEntity entry) {
+    return jpaWaitlistRepository.countAhead(entry.getTravel().getId(), entry.getEnqueuedAt(), entry.getId()) + 1;
+  }
+
+  /**
+   * Si alguien espera en la fila del viaje: una sola lectura del índice
+   * (travel_id, enqueued_at, id).
+   */
+  public boolean hasWaiting(Long travelId) {
+    return jpaWaitlistRepository.existsByTravelId(travelId);
+  }
+
+  /**
+   * Ids de los primeros en la fila, sin bloquear nada.
+   */
+  public List<Long> peekHead(Long travelId, int limit) {
+    return jpaWaitlistRepository.findHeadIds(travelId, Limit.of(limit));
+  }
+
+  /**
+   * Los primeros en la fila, bloqueados (SELECT ... FOR UPDATE) hasta el fin
+   * de la transacción para que dos promociones no tomen la misma entrada.
+   */
+  public List<WaitlistEntryEntity> lockHead(Long travelId, int limit) {
+    return jpaWaitlistRepository.findByTravelIdOrderByEnqueuedAtAscIdAsc(travelId, Limit.of(limit));
+  }
+
+  /**
+   * Viajes con gente esperando y al menos un cupo libre.
+   */
+  public List<Long> findTravelIdsWithFreeSeats() {
+    return jpaWaitlistRepository.findTravelIdsWithFreeSeats();
+  }
+}
@@ -0,0 +1,143 @@
+package com.tdea.proyecto_final.construccion_de_software.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Valores distintos ordenados por su clave (minúsculas, sin tildes) en dos
+ * arreglos paralelos. Los k primeros que empiezan por un prefijo se obtienen
+ * con una búsqueda binaria y una lectura secuencial, sin objetos por entrada
+ * más allá de los propios textos.
+ *
+ * Los arreglos no se modifican: cada alta o baja publica una copia (O(n), las
+ * escrituras son raras) y las lecturas usan la instantánea vigente sin
+ * bloquear. Cada valor lleva un contador de referencias para que un destino
+ * compartido por varios viajes siga sugiriéndose mientras quede uno.
+ */
+final class SortedPrefixArray {
+
+  private record Snapshot(String[] keys, String[] values) {
+  }
+
+  private volatile Snapshot snapshot = new Snapshot(new String[0], new String[0]);
+  // Referencias por clave; solo se usa con el monitor tomado
+  private final Map<String, Integer> references = new HashMap<>();
+
+  /**
+   * Hasta limit valores cuya clave empieza por el prefijo, en orden
+   * alfabético.
+   */
+  List<String> top(String prefix, int limit) {
+    String key = fold(prefix);
+    Snapshot current = snapshot;
+    String[] keys = current.keys();
+    int index = Arrays.binarySearch(keys, key);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    List<String> matches = new ArrayList<>(Math.min(limit, 16));
+    for (; index < keys.length && matches.size() < limit && keys[index].startsWith(key); index++) {
+      matches.add(current.values()[index]);
+    }
+    return matches;
+  }
+
+  /**
+   * Valor registrado con esa clave exacta, o null.
+   */
+  String find(String value) {
+    Snapshot current = snapshot;
+    int index = Arrays.binarySearch(current.keys(), fold(value));
+    return index < 0 ? null : current.values()[index];
+  }
+
+  synchronized void add(String value) {
+    if (value == null || value.isBlank()) {
+      return;
+    }
+    String key = fold(value);
+    if (references.merge(key, 1, Integer::sum) > 1) {
+      return;
+    }
+    Snapshot current = snapshot;
+    int index = -Arrays.binarySearch(current.keys(), key) - 1;
+    snapshot = new Snapshot(insert(current.keys(), index, key), insert(current.values(), index, value.trim()));
+  }
+
+  synchronized void remove(String value) {
+    if (value == null || value.isBlank()) {
+      return;
+    }
+    String key = fold(value);
+    Integer remaining = references.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    if (remaining != null) {
+      return;
+    }
+    Snapshot current = snapshot;
+    int index = Arrays.binarySearch(current.keys(), key);
+    if (index >= 0) {
+      snapshot = new Snapshot(delete(current.keys(), index), delete(current.values(), index));
+    }
+  }
+
+  /**
+   * Reemplaza el contenido completo con un solo ordenamiento.
+   */
+  synchronized void replaceAll(Collection<String> values) {
+    TreeMap<String, String> sorted = new TreeMap<>();
+    references.clear();
+    for (String value : values) {
+      if (value != null && !value.isBlank()) {
+        String key = fold(value);
+        sorted.putIfAbsent(key, value.trim());
+        references.merge(key, 1, Integer::sum);
+      }
+    }
+    snapshot = new Snapshot(sorted.keySet().toArray(new String[0]), sorted.values().toArray(new String[0]));
+  }
+
+  int size() {
+    return snapshot.keys().length;
+  }
+
+  /**
+   * Minúsculas y sin tildes; a diferencia de TravelSearchIndex conserva la
+   * puntuación, que en un correo es significativa.
+   */
+  static String fold(String value) {
+    if (value == null) {
+      return "";
+    }
+    String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+    StringBuilder folded = new StringBuilder(decomposed.length());
+    for (int i = 0; i < decomposed.length(); i++) {
+      char c = decomposed.charAt(i);
+      if (Character.getType(c) != Character.NON_SPACING_MARK) {
+        folded.append(c);
+      }
+    }
+    return folded.toString().toLowerCase(Locale.ROOT);
+  }
+
+  private static String[] insert(String[] array, int index, String value) {
+    String[] copy = new String[array.length + 1];
+    System.arraycopy(array, 0, copy, 0, index);
+    copy[index] = value;
+    System.arraycopy(array, index, copy, index + 1, array.length - index);
+    return copy;
+  }
+
+  private static String[] delete(String[] array, int index) {
+    String[] copy = new String[array.length - 1];
+    System.arraycopy(array, 0, copy, 0, index);
+    System.arraycopy(array, index + 1, copy, index, array.length - index - 1);
+    return copy;
+  }
+}
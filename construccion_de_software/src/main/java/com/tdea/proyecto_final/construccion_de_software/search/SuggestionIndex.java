@@ -0,0 +1,162 @@
+package com.tdea.proyecto_final.construccion_de_software.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelSearchText;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserEmail;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+import com.tdea.proyecto_final.construccion_de_software.support.AfterCommit;
+
+/**
+ * Sugerencias para los filtros: destinos distintos y correos de usuario en
+ * arreglos ordenados (SortedPrefixArray). Al elegir un valor sugerido, el
+ * filtro recibe un valor exacto: el correo se traduce aquí al id del usuario
+ * y el destino a su texto registrado, y la consulta compara user_id o
+ * destination por igualdad en lugar de aplicar LIKE.
+ *
+ * ManageTravelsService y RegisterUserService informan los cambios, que se
+ * aplican al confirmar la transacción; una reconstrucción periódica recoge lo
+ * escrito por otros nodos o por SQL directo.
+ */
+@Component
+public class SuggestionIndex {
+
+  public enum Field {
+    DESTINATION, EMAIL
+  }
+
+  private final TravelRepository travelRepository;
+  private final UserRepository userRepository;
+  private final SortedPrefixArray destinations = new SortedPrefixArray();
+  private final SortedPrefixArray emails = new SortedPrefixArray();
+  // Destino actual de cada viaje, para retirar el anterior al cambiarlo
+  private final Map<Long, String> travelDestinations = new ConcurrentHashMap<>();
+  // Correo normalizado -> id del usuario
+  private final Map<String, Long> userIds = new ConcurrentHashMap<>();
+  // Cambios recibidos mientras se recarga, para repetirlos sobre lo cargado
+  private List<Runnable> changesDuringRebuild;
+  private final Object rebuildLock = new Object();
+
+  public SuggestionIndex(TravelRepository travelRepository, UserRepository userRepository) {
+    this.travelRepository = travelRepository;
+    this.userRepository = userRepository;
+  }
+
+  public List<String> suggest(Field field, String prefix, int limit) {
+    if (prefix == null || prefix.isBlank()) {
+      return List.of();
+    }
+    return (field == Field.EMAIL ? emails : destinations).top(prefix, limit);
+  }
+
+  /**
+   * Id del usuario con ese correo exacto (sin distinguir mayúsculas), o null
+   * si el texto no es un correo registrado.
+   */
+  public Long findUserId(String email) {
+    return email == null ? null : userIds.get(SortedPrefixArray.fold(email));
+  }
+
+  /**
+   * Destino registrado que coincide exactamente con el texto (sin distinguir
+   * mayúsculas ni tildes), o null si el texto no es un destino sugerido.
+   */
+  public String findDestination(String destination) {
+    return destination == null ? null : destinations.find(destination);
+  }
+
+  public void travelSaved(Long id, String destination) {
+    if (id != null) {
+      AfterCommit.run(() -> apply(() -> setDestination(id, destination)));
+    }
+  }
+
+  public void travelRemoved(Long id) {
+    if (id != null) {
+      AfterCommit.run(() -> apply(() -> setDestination(id, null)));
+    }
+  }
+
+  public void userRegistered(Long id, String email) {
+    if (id != null && email != null) {
+      AfterCommit.run(() -> apply(() -> {
+        if (userIds.put(SortedPrefixArray.fold(email), id) == null) {
+          emails.add(email);
+        }
+      }));
+    }
+  }
+
+  /**
+   * Carga los valores al arrancar y los recarga cada
+   * app.search.suggest.rebuild-interval.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(initialDelayString = "${app.search.suggest.rebuild-interval:10m}",
+      fixedDelayString = "${app.search.suggest.rebuild-interval:10m}")
+  public void rebuild() {
+    synchronized (rebuildLock) {
+      synchronized (this) {
+        changesDuringRebuild = new ArrayList<>();
+      }
+      List<TravelSearchText> travels;
+      List<UserEmail> users;
+      try {
+        travels = travelRepository.findSearchTexts();
+        users = userRepository.findEmails();
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          changesDuringRebuild = null;
+        }
+        throw e;
+      }
+      synchronized (this) {
+        travelDestinations.clear();
+        travels.forEach(travel -> {
+          if (travel.destination() != null) {
+            travelDestinations.put(travel.id(), travel.destination());
+          }
+        });
+        destinations.replaceAll(travelDestinations.values());
+
+        // Se agregan antes de retirar los que ya no existen para que un
+        // filtro concurrente no vea el mapa vacío
+        Map<String, Long> loaded = new HashMap<>();
+        users.forEach(user -> loaded.put(SortedPrefixArray.fold(user.email()), user.id()));
+        userIds.putAll(loaded);
+        userIds.keySet().retainAll(loaded.keySet());
+        emails.replaceAll(users.stream().map(UserEmail::email).toList());
+
+        changesDuringRebuild.forEach(Runnable::run);
+        changesDuringRebuild = null;
+      }
+    }
+  }
+
+  private synchronized void apply(Runnable change) {
+    change.run();
+    if (changesDuringRebuild != null) {
+      changesDuringRebuild.add(change);
+    }
+  }
+
+  private void setDestination(Long id, String destination) {
+    String previous = destination == null ? travelDestinations.remove(id) : travelDestinations.put(id, destination);
+    if (previous != null) {
+      destinations.remove(previous);
+    }
+    if (destination != null) {
+      destinations.add(destination);
+    }
+  }
+}
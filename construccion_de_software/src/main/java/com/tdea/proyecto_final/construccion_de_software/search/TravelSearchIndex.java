@@ -0,0 +1,410 @@
+package com.tdea.proyecto_final.construccion_de_software.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.TravelSearchResult;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelSearchText;
+import com.tdea.proyecto_final.construccion_de_software.support.AfterCommit;
+
+/**
+ * Índice en memoria del destino y el itinerario de los viajes para el
+ * autocompletado de /api/travels/search, sin recorrer el catálogo. Los
+ * filtros por destino no lo usan: van a la base con LIKE.
+ *
+ * Los textos se normalizan (minúsculas, sin tildes) y se parten en palabras.
+ * Por cada campo se guardan las palabras ordenadas (prefijos con un rango del
+ * skip list), los trigramas de cada palabra (subcadenas y candidatos para
+ * coincidencias aproximadas) y los viajes que contienen cada palabra. Consultar
+ * cuesta lo que el vocabulario que coincide, no lo que el número de viajes.
+ *
+ * Las lecturas no bloquean. ManageTravelsService informa cada alta, cambio y
+ * baja, que se aplican al confirmar la transacción; una reconstrucción
+ * periódica recoge lo escrito por otros nodos o por SQL directo.
+ */
+@Component
+public class TravelSearchIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(TravelSearchIndex.class);
+  private static final int GRAM = 3;
+  // Puntaje por palabra de la consulta según cómo coincide, y peso del destino
+  // frente al itinerario
+  private static final int EXACT = 8;
+  private static final int PREFIX = 6;
+  private static final int SUBSTRING = 4;
+  private static final int FUZZY = 2;
+  private static final int DESTINATION_WEIGHT = 2;
+  // Empates por id: comparar textos en cada empate costaría más que la búsqueda
+  private static final Comparator<TravelSearchResult> RANKING = Comparator
+      .comparingInt(TravelSearchResult::score).reversed()
+      .thenComparing(TravelSearchResult::id);
+
+  private final TravelRepository travelRepository;
+  private volatile State state = new State();
+  // Cambios recibidos mientras se reconstruye, para aplicarlos también al
+  // índice nuevo
+  private List<TravelSearchText> changesDuringRebuild;
+  private final Object rebuildLock = new Object();
+
+  public TravelSearchIndex(TravelRepository travelRepository) {
+    this.travelRepository = travelRepository;
+  }
+
+  /**
+   * Alta o cambio de un viaje; dentro de una transacción se aplica al
+   * confirmarla.
+   */
+  public void put(Long id, String destination, String itinerary) {
+    if (id != null) {
+      TravelSearchText change = new TravelSearchText(id, destination, itinerary);
+      AfterCommit.run(() -> apply(change));
+    }
+  }
+
+  public void remove(Long id) {
+    if (id != null) {
+      TravelSearchText change = new TravelSearchText(id, null, null);
+      AfterCommit.run(() -> apply(change));
+    }
+  }
+
+  /**
+   * Búsqueda para autocompletar sobre destino e itinerario: cada palabra de la
+   * consulta debe coincidir exacta, como prefijo, como subcadena o con hasta
+   * una o dos letras de diferencia. Los resultados se ordenan por puntaje.
+   */
+  public List<TravelSearchResult> search(String text, int limit) {
+    String query = normalize(text);
+    if (query.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    State current = state;
+    Map<Long, Integer> scores = null;
+    for (String token : query.split(" ")) {
+      Map<Long, Integer> tokenScores = new HashMap<>();
+      current.destinations.match(token, DESTINATION_WEIGHT, tokenScores);
+      current.itineraries.match(token, 1, tokenScores);
+      if (scores == null) {
+        scores = tokenScores;
+      } else {
+        scores.keySet().retainAll(tokenScores.keySet());
+        scores.replaceAll((id, score) -> score + tokenScores.get(id));
+      }
+      if (scores.isEmpty()) {
+        return List.of();
+      }
+    }
+
+    // Solo se conservan los limit mejores; el peor queda en la cabeza del heap
+    // y los que no lo superan se descartan sin crear el resultado
+    PriorityQueue<TravelSearchResult> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+    scores.forEach((id, score) -> {
+      TravelSearchResult worst = top.size() < limit ? null : top.peek();
+      if (worst != null && (score < worst.score() || score == worst.score() && id > worst.id())) {
+        return;
+      }
+      Document document = current.documents.get(id);
+      if (document != null) {
+        top.add(new TravelSearchResult(id, document.original(), score));
+        if (top.size() > limit) {
+          top.poll();
+        }
+      }
+    });
+    List<TravelSearchResult> results = new ArrayList<>(top);
+    results.sort(RANKING);
+    return results;
+  }
+
+  public int size() {
+    return state.documents.size();
+  }
+
+  /**
+   * Construye el índice al arrancar y lo reconstruye cada
+   * app.search.travels.rebuild-interval.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(initialDelayString = "${app.search.travels.rebuild-interval:10m}",
+      fixedDelayString = "${app.search.travels.rebuild-interval:10m}")
+  public void rebuild() {
+    synchronized (rebuildLock) {
+      synchronized (this) {
+        changesDuringRebuild = new ArrayList<>();
+      }
+      State rebuilt = new State();
+      try {
+        travelRepository.findSearchTexts().forEach(rebuilt::apply);
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          changesDuringRebuild = null;
+        }
+        throw e;
+      }
+      synchronized (this) {
+        changesDuringRebuild.forEach(rebuilt::apply);
+        changesDuringRebuild = null;
+        state = rebuilt;
+      }
+      log.debug("Travel search index rebuilt with {} travels", rebuilt.documents.size());
+    }
+  }
+
+  private synchronized void apply(TravelSearchText change) {
+    state.apply(change);
+    if (changesDuringRebuild != null) {
+      changesDuringRebuild.add(change);
+    }
+  }
+
+  /**
+   * Minúsculas, sin tildes ni diacríticos y con cualquier otro carácter
+   * convertido en un único espacio.
+   */
+  static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+    StringBuilder normalized = new StringBuilder(decomposed.length());
+    boolean space = true;
+    for (int i = 0; i < decomposed.length(); i++) {
+      char c = decomposed.charAt(i);
+      if (Character.getType(c) == Character.NON_SPACING_MARK) {
+        continue;
+      }
+      if (Character.isLetterOrDigit(c)) {
+        normalized.append(Character.toLowerCase(c));
+        space = false;
+      } else if (!space) {
+        normalized.append(' ');
+        space = true;
+      }
+    }
+    int length = normalized.length();
+    if (length > 0 && normalized.charAt(length - 1) == ' ') {
+      normalized.setLength(length - 1);
+    }
+    return normalized.toString();
+  }
+
+  private static Set<String> words(String normalized) {
+    return normalized.isEmpty() ? Set.of() : new LinkedHashSet<>(List.of(normalized.split(" ")));
+  }
+
+  private static Set<String> grams(String word) {
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + GRAM <= word.length(); i++) {
+      grams.add(word.substring(i, i + GRAM));
+    }
+    return grams;
+  }
+
+  /**
+   * Trigramas de la palabra precedida de un espacio: el inicio de palabra
+   * cuenta como un trigrama más, así palabras cortas con una letra cambiada
+   * comparten al menos uno ("leiva" y "leyva" comparten " le").
+   */
+  private static Set<String> wordGrams(String word) {
+    return grams(" " + word);
+  }
+
+  /**
+   * Ediciones toleradas según la longitud de la palabra buscada.
+   */
+  private static int maxEdits(String token) {
+    return token.length() < 4 ? 0 : token.length() < 8 ? 1 : 2;
+  }
+
+  /**
+   * Distancia de Levenshtein entre el token y el prefijo de la palabra que más
+   * se le parece, o maxEdits + 1 si es mayor (así "cartajen" encuentra
+   * "cartagena" mientras se escribe).
+   */
+  private static int prefixDistance(String token, String word, int maxEdits) {
+    int[] previous = new int[word.length() + 1];
+    int[] current = new int[word.length() + 1];
+    for (int j = 0; j <= word.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= token.length(); i++) {
+      current[0] = i;
+      int rowMin = current[0];
+      for (int j = 1; j <= word.length(); j++) {
+        int cost = token.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+        current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+        rowMin = Math.min(rowMin, current[j]);
+      }
+      if (rowMin > maxEdits) {
+        return maxEdits + 1;
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    int best = Integer.MAX_VALUE;
+    for (int distance : previous) {
+      best = Math.min(best, distance);
+    }
+    return best;
+  }
+
+  private record Document(String original, Set<String> destinationWords, Set<String> itineraryWords) {
+  }
+
+  private interface WordMatch {
+    void accept(String word, int quality);
+  }
+
+  /**
+   * Documentos y un índice de palabras por campo. Solo se modifica con el
+   * monitor de TravelSearchIndex tomado.
+   */
+  private static final class State {
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final FieldIndex destinations = new FieldIndex();
+    private final FieldIndex itineraries = new FieldIndex();
+
+    void apply(TravelSearchText change) {
+      Document previous = documents.remove(change.id());
+      if (previous != null) {
+        destinations.remove(change.id(), previous.destinationWords());
+        itineraries.remove(change.id(), previous.itineraryWords());
+      }
+      if (change.destination() == null && change.itinerary() == null) {
+        return;
+      }
+      Document document = new Document(change.destination(), words(normalize(change.destination())),
+          words(normalize(change.itinerary())));
+      destinations.add(change.id(), document.destinationWords());
+      itineraries.add(change.id(), document.itineraryWords());
+      documents.put(change.id(), document);
+    }
+  }
+
+  private static final class FieldIndex {
+    private final NavigableSet<String> words = new ConcurrentSkipListSet<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> grams = new ConcurrentHashMap<>();
+
+    void add(Long id, Set<String> documentWords) {
+      for (String word : documentWords) {
+        postings.computeIfAbsent(word, w -> {
+          words.add(w);
+          wordGrams(w).forEach(gram -> grams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(w));
+          return ConcurrentHashMap.newKeySet();
+        }).add(id);
+      }
+    }
+
+    void remove(Long id, Set<String> documentWords) {
+      for (String word : documentWords) {
+        Set<Long> ids = postings.get(word);
+        if (ids == null || !ids.remove(id) || !ids.isEmpty()) {
+          continue;
+        }
+        postings.remove(word);
+        words.remove(word);
+        for (String gram : wordGrams(word)) {
+          Set<String> gramWords = grams.get(gram);
+          if (gramWords != null) {
+            gramWords.remove(word);
+            if (gramWords.isEmpty()) {
+              grams.remove(gram);
+            }
+          }
+        }
+      }
+    }
+
+    Set<Long> ids(String word) {
+      return postings.getOrDefault(word, Set.of());
+    }
+
+    /**
+     * Palabras que empiezan por el token (exactas o prefijo) o lo contienen.
+     * Un token más corto que un trigrama no se busca como subcadena, porque
+     * exigiría recorrer todo el vocabulario del campo.
+     */
+    void forEachContaining(String token, WordMatch consumer) {
+      for (String word : words.subSet(token, true, token + Character.MAX_VALUE, false)) {
+        consumer.accept(word, word.length() == token.length() ? EXACT : PREFIX);
+      }
+      if (token.length() < GRAM) {
+        return;
+      }
+      Set<String> candidates = null;
+      for (String gram : grams(token)) {
+        Set<String> gramWords = grams.get(gram);
+        if (gramWords == null) {
+          return;
+        }
+        if (candidates == null || gramWords.size() < candidates.size()) {
+          candidates = gramWords;
+        }
+      }
+      for (String word : candidates) {
+        if (!word.startsWith(token) && word.contains(token)) {
+          consumer.accept(word, SUBSTRING);
+        }
+      }
+    }
+
+    /**
+     * Suma a scores el mejor puntaje de cada viaje con una palabra que coincide
+     * con el token, multiplicado por el peso del campo.
+     */
+    void match(String token, int weight, Map<Long, Integer> scores) {
+      Set<String> matched = new HashSet<>();
+      forEachContaining(token, (word, quality) -> {
+        matched.add(word);
+        addScores(word, quality * weight, scores);
+      });
+
+      int maxEdits = maxEdits(token);
+      if (maxEdits == 0) {
+        return;
+      }
+      // Cada edición rompe como mucho GRAM trigramas del token
+      Set<String> tokenGrams = wordGrams(token);
+      int required = Math.max(1, tokenGrams.size() - GRAM * maxEdits);
+      Map<String, Integer> shared = new HashMap<>();
+      for (String gram : tokenGrams) {
+        for (String word : grams.getOrDefault(gram, Set.of())) {
+          shared.merge(word, 1, Integer::sum);
+        }
+      }
+      shared.forEach((word, count) -> {
+        if (count >= required && !matched.contains(word) && word.length() >= token.length() - maxEdits
+            && prefixDistance(token, word, maxEdits) <= maxEdits) {
+          addScores(word, FUZZY * weight, scores);
+        }
+      });
+    }
+
+    private void addScores(String word, int score, Map<Long, Integer> scores) {
+      for (Long id : ids(word)) {
+        scores.merge(id, score, Math::max);
+      }
+    }
+  }
+}
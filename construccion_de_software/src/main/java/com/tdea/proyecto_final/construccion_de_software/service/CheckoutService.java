@@ -0,0 +1,49 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.dto.CheckoutRequest;
+import com.tdea.proyecto_final.construccion_de_software.dto.CheckoutResponse;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.mapper.BookingMapper;
+import com.tdea.proyecto_final.construccion_de_software.mapper.PaymentMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Compra en un paso: crea la reserva y registra el primer pago en una misma
+ * transacción, con las validaciones de ManageBookingsService.createBooking y
+ * ManagePaymentsService.processPayment. Si el pago no es válido se revierte
+ * también la reserva y su cupo. La respuesta se arma con las entidades ya
+ * cargadas, sin volver a leer la reserva.
+ */
+@Service
+@RequiredArgsConstructor
+public class CheckoutService {
+  private final ManageBookingsService manageBookingsService;
+  private final ManagePaymentsService managePaymentsService;
+  private final BookingMapper bookingMapper;
+  private final PaymentMapper paymentMapper;
+
+  @Transactional
+  public CheckoutResponse checkout(CheckoutRequest request) {
+    String status = request.getStatus() == null ? BookingStatus.PENDING.name() : request.getStatus();
+    BookingEntity booking = manageBookingsService.createBooking(
+        new BookingRequest(status, request.getUserId(), request.getTravelId()));
+
+    // La reserva es nueva en esta transacción: nadie más puede pagarla aún
+    PaymentEntity payment = managePaymentsService.recordPayment(booking, request.getAmount(),
+        request.getPaymentMethod());
+    booking.setPayments(new ArrayList<>(List.of(payment)));
+
+    return new CheckoutResponse(bookingMapper.toResponse(booking), paymentMapper.toResponse(payment),
+        booking.getTravel().getPrice().subtract(booking.getPaidAmount()));
+  }
+}
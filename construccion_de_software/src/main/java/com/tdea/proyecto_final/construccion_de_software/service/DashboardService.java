@@ -0,0 +1,247 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingStatusTotal;
+import com.tdea.proyecto_final.construccion_de_software.dto.DashboardResponse;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.DashboardRepository;
+
+/**
+ * Mantiene los totales del dashboard a medida que cambian reservas y pagos, y
+ * los sirve sin recorrer el historial.
+ *
+ * Los servicios de escritura informan cada cambio; los deltas se acumulan en
+ * la transacción en curso y se escriben justo antes del commit, en orden de
+ * clave y sobre un slot al azar. Así una transacción toca cada fila de totales
+ * una sola vez, el bloqueo dura lo mínimo y no hay interbloqueos entre
+ * transacciones que actualizan los mismos estados en distinto orden. Si la
+ * transacción se revierte, los deltas se descartan con ella.
+ */
+@Service
+public class DashboardService {
+
+  private static final int DEFAULT_DAYS = 30;
+
+  private final DashboardRepository dashboardRepository;
+  private final int slots;
+
+  public DashboardService(DashboardRepository dashboardRepository,
+      @Value("${app.dashboard.slots:8}") int slots) {
+    this.dashboardRepository = dashboardRepository;
+    this.slots = Math.max(1, slots);
+  }
+
+  private record BookingDelta(long bookings, BigDecimal amountDue, BigDecimal amountPaid) {
+    BookingDelta plus(BookingDelta other) {
+      return new BookingDelta(bookings + other.bookings, amountDue.add(other.amountDue),
+          amountPaid.add(other.amountPaid));
+    }
+
+    boolean isZero() {
+      return bookings == 0 && amountDue.signum() == 0 && amountPaid.signum() == 0;
+    }
+  }
+
+  private record PaymentKey(LocalDate date, String method, Long travelId) {
+    static final Comparator<PaymentKey> ORDER = Comparator.comparing(PaymentKey::date)
+        .thenComparing(PaymentKey::method)
+        .thenComparing(PaymentKey::travelId);
+  }
+
+  private record PaymentDelta(long payments, BigDecimal amount) {
+    PaymentDelta plus(PaymentDelta other) {
+      return new PaymentDelta(payments + other.payments, amount.add(other.amount));
+    }
+  }
+
+  public void bookingAdded(BookingEntity booking) {
+    addBooking(booking.getStatus(), 1, booking.getTravel().getPrice(), booking.getPaidAmount());
+  }
+
+  public void bookingRemoved(BookingEntity booking) {
+    addBooking(booking.getStatus(), -1, booking.getTravel().getPrice().negate(),
+        booking.getPaidAmount().negate());
+  }
+
+  /**
+   * La reserva cambió de estado o de saldo pagado; recibe los valores previos.
+   */
+  public void bookingChanged(BookingStatus previousStatus, BigDecimal previousPaid, BookingEntity booking) {
+    BigDecimal price = booking.getTravel().getPrice();
+    addBooking(previousStatus, -1, price.negate(), previousPaid.negate());
+    addBooking(booking.getStatus(), 1, price, booking.getPaidAmount());
+  }
+
+  /**
+   * Reservas recién insertadas (y ya enviadas a la base) por importación
+   * masiva: se agregan en SQL dentro de la misma transacción.
+   */
+  public void bookingsImported(Collection<Long> bookingIds) {
+    dashboardRepository.addBookingTotalsOf(bookingIds, slot());
+  }
+
+  public void paymentAdded(PaymentEntity payment, Long travelId) {
+    addPayment(payment, travelId, 1, payment.getAmount());
+  }
+
+  public void paymentRemoved(PaymentEntity payment, Long travelId) {
+    addPayment(payment, travelId, -1, payment.getAmount().negate());
+  }
+
+  /**
+   * Ajusta el precio reservado de todas las reservas del viaje, con una
+   * consulta agrupada por estado en lugar de cargarlas.
+   */
+  public void travelPriceChanged(Long travelId, BigDecimal previousPrice, BigDecimal newPrice) {
+    if (previousPrice == null || newPrice == null || previousPrice.compareTo(newPrice) == 0) {
+      return;
+    }
+    BigDecimal difference = newPrice.subtract(previousPrice);
+    dashboardRepository.countBookingsByStatus(travelId).forEach((status, count) -> addBookingTotals(status, 0,
+        difference.multiply(BigDecimal.valueOf(count)), BigDecimal.ZERO));
+  }
+
+  @Transactional(readOnly = true)
+  public DashboardResponse getDashboard(LocalDate from, LocalDate to) {
+    LocalDate end = to != null ? to : LocalDate.now();
+    LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+    if (start.isAfter(end)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+    }
+
+    List<BookingStatusTotal> bookings = dashboardRepository.findBookingTotals();
+    BigDecimal outstanding = bookings.stream()
+        .filter(total -> BookingStatus.parse(total.status()).map(status -> !status.isClosed()).orElse(true))
+        .map(total -> total.amountDue().subtract(total.amountPaid()))
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    return new DashboardResponse(bookings, dashboardRepository.findRevenueByPaymentMethod(),
+        dashboardRepository.findRevenueByDay(start, end), dashboardRepository.findRevenueByDestination(),
+        outstanding);
+  }
+
+  /**
+   * Rellena las tablas de totales la primera vez, a partir de las reservas y
+   * pagos existentes.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void initialize() {
+    if (dashboardRepository.isEmpty()) {
+      dashboardRepository.rebuildBookingTotals();
+      dashboardRepository.rebuildPaymentTotals();
+    }
+  }
+
+  /**
+   * Recalcula los totales de reservas desde cero, p. ej. tras corregir saldos
+   * fuera de los servicios.
+   */
+  @Transactional
+  public void rebuildBookingTotals() {
+    dashboardRepository.rebuildBookingTotals();
+  }
+
+  private void addBooking(BookingStatus status, long bookings, BigDecimal amountDue, BigDecimal amountPaid) {
+    if (status != null) {
+      addBookingTotals(status.name(), bookings, amountDue, amountPaid);
+    }
+  }
+
+  // Las tablas de totales guardan el nombre del estado
+  private void addBookingTotals(String status, long bookings, BigDecimal amountDue, BigDecimal amountPaid) {
+    if (status == null) {
+      return;
+    }
+    BookingDelta delta = new BookingDelta(bookings, amountDue, amountPaid);
+    PendingTotals pending = pending();
+    if (pending == null) {
+      dashboardRepository.addBookingTotals(status, slot(), bookings, amountDue, amountPaid);
+    } else {
+      pending.bookings.merge(status, delta, BookingDelta::plus);
+    }
+  }
+
+  private void addPayment(PaymentEntity payment, Long travelId, long payments, BigDecimal amount) {
+    PaymentKey key = new PaymentKey(payment.getPaymentDate(), payment.getPaymentMethod(), travelId);
+    if (key.date() == null || key.method() == null || travelId == null) {
+      return;
+    }
+    PendingTotals pending = pending();
+    if (pending == null) {
+      dashboardRepository.addPaymentTotals(key.date(), key.method(), travelId, slot(), payments, amount);
+    } else {
+      pending.payments.merge(key, new PaymentDelta(payments, amount), PaymentDelta::plus);
+    }
+  }
+
+  private int slot() {
+    return ThreadLocalRandom.current().nextInt(slots);
+  }
+
+  /**
+   * Deltas de la transacción actual, o null si no hay una activa (en ese caso
+   * se escriben de inmediato).
+   */
+  private PendingTotals pending() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return null;
+    }
+    PendingTotals pending = (PendingTotals) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      pending = new PendingTotals();
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+    return pending;
+  }
+
+  private final class PendingTotals implements TransactionSynchronization {
+    private final Map<String, BookingDelta> bookings = new TreeMap<>();
+    private final Map<PaymentKey, PaymentDelta> payments = new TreeMap<>(PaymentKey.ORDER);
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      int slot = slot();
+      bookings.forEach((status, delta) -> {
+        if (!delta.isZero()) {
+          dashboardRepository.addBookingTotals(status, slot, delta.bookings(), delta.amountDue(),
+              delta.amountPaid());
+        }
+      });
+      payments.forEach((key, delta) -> {
+        if (delta.payments() != 0 || delta.amount().signum() != 0) {
+          dashboardRepository.addPaymentTotals(key.date(), key.method(), key.travelId(), slot, delta.payments(),
+              delta.amount());
+        }
+      });
+      bookings.clear();
+      payments.clear();
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(DashboardService.this);
+    }
+  }
+}
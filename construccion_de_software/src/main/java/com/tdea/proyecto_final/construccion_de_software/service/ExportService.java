@@ -0,0 +1,192 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdea.proyecto_final.construccion_de_software.repository.ExportRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exporta pagos y reservas en CSV o NDJSON escribiendo cada fila del cursor
+ * directamente en la salida. La memoria usada no depende del número de filas:
+ * solo los búferes del escritor y la fila actual.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+  private final ExportRepository exportRepository;
+  private final ObjectMapper objectMapper;
+
+  public enum Format {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    Format(MediaType mediaType) {
+      this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+      return mediaType;
+    }
+
+    public String extension() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Format parse(String value) {
+      for (Format format : values()) {
+        if (format.name().equalsIgnoreCase(value)) {
+          return format;
+        }
+      }
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+    }
+  }
+
+  /**
+   * Se llama antes de empezar a escribir, para responder 400 en lugar de
+   * cortar una respuesta ya iniciada.
+   */
+  public void validateRange(LocalDate from, LocalDate to) {
+    if (from != null && to != null && from.isAfter(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+    }
+  }
+
+  public void exportPayments(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+    write(format, ExportRepository.PAYMENT_COLUMNS, out,
+        handler -> exportRepository.forEachPayment(from, to, handler));
+  }
+
+  public void exportBookings(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+    write(format, ExportRepository.BOOKING_COLUMNS, out,
+        handler -> exportRepository.forEachBooking(from, to, handler));
+  }
+
+  private interface Query {
+    void run(RowCallbackHandler handler);
+  }
+
+  private void write(Format format, List<String> columns, OutputStream out, Query query) throws IOException {
+    try {
+      if (format == Format.CSV) {
+        writeCsv(columns, out, query);
+      } else {
+        writeNdjson(columns, out, query);
+      }
+    } catch (UncheckedIOException e) {
+      // El cliente cerró la conexión a mitad de la descarga
+      throw e.getCause();
+    }
+  }
+
+  private void writeCsv(List<String> columns, OutputStream out, Query query) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(String.join(",", columns));
+    writer.write("\r\n");
+    query.run(rs -> {
+      try {
+        for (int i = 1; i <= columns.size(); i++) {
+          if (i > 1) {
+            writer.write(',');
+          }
+          String value = text(rs, i);
+          if (value != null) {
+            writeCsvField(writer, value);
+          }
+        }
+        writer.write("\r\n");
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    writer.flush();
+  }
+
+  private void writeNdjson(List<String> columns, OutputStream out, Query query) throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      // Cada objeto en su línea, sin el espacio que Jackson pone entre raíces
+      generator.setRootValueSeparator(null);
+      query.run(rs -> {
+        try {
+          generator.writeStartObject();
+          for (int i = 1; i <= columns.size(); i++) {
+            generator.writeFieldName(columns.get(i - 1));
+            writeJsonValue(generator, rs.getObject(i));
+          }
+          generator.writeEndObject();
+          generator.writeRaw('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+  }
+
+  private static void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof BigDecimal decimal) {
+      generator.writeNumber(decimal);
+    } else if (value instanceof Number number) {
+      generator.writeNumber(number.longValue());
+    } else if (value instanceof java.sql.Date date) {
+      generator.writeString(date.toLocalDate().toString());
+    } else {
+      generator.writeString(value.toString());
+    }
+  }
+
+  private static String text(ResultSet rs, int column) throws SQLException {
+    Object value = rs.getObject(column);
+    if (value instanceof BigDecimal decimal) {
+      return decimal.toPlainString();
+    }
+    if (value instanceof java.sql.Date date) {
+      return date.toLocalDate().toString();
+    }
+    return value == null ? null : value.toString();
+  }
+
+  /**
+   * RFC 4180: entre comillas si contiene separador, comillas o saltos de
+   * línea, duplicando las comillas internas.
+   */
+  private static void writeCsvField(Writer writer, String value) throws IOException {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
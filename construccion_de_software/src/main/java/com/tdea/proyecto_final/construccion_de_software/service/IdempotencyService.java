@@ -0,0 +1,192 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tdea.proyecto_final.construccion_de_software.entity.IdempotencyKeyEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.IdempotencyKeyRepository;
+
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Ejecuta una operación como máximo una vez por cabecera Idempotency-Key.
+ * Las respuestas exitosas se guardan en una caché local con TTL y en la tabla
+ * idempotency_keys, que sirve de respaldo tras un reinicio o entre nodos. Un
+ * reintento con la misma clave y el mismo cuerpo recibe la respuesta original
+ * sin repetir el trabajo transaccional.
+ */
+@Service
+public class IdempotencyService {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+  private static final int MAX_KEY_LENGTH = 100;
+
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate newTransaction;
+  private final Duration ttl;
+  private final Cache<String, StoredResponse> localCache;
+
+  private record StoredResponse(String requestHash, int status, String body) {
+  }
+
+  public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.idempotency.ttl:24h}") Duration ttl,
+      @Value("${app.idempotency.local-cache-size:100000}") long localCacheSize) {
+    this.idempotencyKeyRepository = idempotencyKeyRepository;
+    this.objectMapper = objectMapper;
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.ttl = ttl;
+    this.localCache = Caffeine.newBuilder()
+        .maximumSize(localCacheSize)
+        .expireAfterWrite(ttl)
+        .build();
+  }
+
+  /**
+   * @param scope   separa las claves de cada endpoint
+   * @param key     valor de la cabecera; si es nulo la operación se ejecuta sin
+   *                protección
+   * @param request cuerpo de la petición, para detectar claves reutilizadas con
+   *                otro contenido
+   * @param action  operación a ejecutar la primera vez
+   */
+  public ResponseEntity<?> execute(String scope, String key, Object request, Supplier<ResponseEntity<?>> action) {
+    if (key == null || key.isBlank()) {
+      return action.get();
+    }
+    if (key.length() > MAX_KEY_LENGTH) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          HEADER + " must not exceed " + MAX_KEY_LENGTH + " characters");
+    }
+
+    String id = scope + ":" + key;
+    String requestHash = hash(request);
+
+    StoredResponse cached = localCache.getIfPresent(id);
+    if (cached != null) {
+      return replay(cached, requestHash);
+    }
+
+    if (!claim(id, requestHash)) {
+      return replayFromStore(id, requestHash, scope, key, request, action);
+    }
+
+    ResponseEntity<?> response;
+    try {
+      response = action.get();
+    } catch (RuntimeException e) {
+      release(id);
+      throw e;
+    }
+
+    // Solo se recuerdan los éxitos; tras un error el cliente puede corregir y
+    // reintentar con la misma clave
+    if (!response.getStatusCode().is2xxSuccessful()) {
+      release(id);
+      return response;
+    }
+
+    StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+        toJson(response.getBody()));
+    newTransaction.executeWithoutResult(status -> idempotencyKeyRepository.findById(id).ifPresent(entity -> {
+      entity.setResponseStatus(stored.status());
+      entity.setResponseBody(stored.body());
+      idempotencyKeyRepository.save(entity);
+    }));
+    localCache.put(id, stored);
+    return response;
+  }
+
+  private ResponseEntity<?> replayFromStore(String id, String requestHash, String scope, String key, Object request,
+      Supplier<ResponseEntity<?>> action) {
+    IdempotencyKeyEntity existing = idempotencyKeyRepository.findById(id).orElse(null);
+    if (existing == null) {
+      // La petición original falló y liberó la clave justo ahora
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+          "A request with this " + HEADER + " was just released, retry it");
+    }
+    if (existing.getExpiresAt().isBefore(Instant.now())) {
+      // Clave caducada que la purga aún no eliminó: se libera y se vuelve a intentar
+      release(id);
+      return execute(scope, key, request, action);
+    }
+    if (existing.isPending()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+          "A request with this " + HEADER + " is still being processed");
+    }
+
+    StoredResponse stored = new StoredResponse(existing.getRequestHash(), existing.getResponseStatus(),
+        existing.getResponseBody());
+    localCache.put(id, stored);
+    return replay(stored, requestHash);
+  }
+
+  private ResponseEntity<?> replay(StoredResponse stored, String requestHash) {
+    if (!stored.requestHash().equals(requestHash)) {
+      throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+          HEADER + " was already used with a different request");
+    }
+    return ResponseEntity.status(stored.status())
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(REPLAYED_HEADER, "true")
+        .body(stored.body());
+  }
+
+  /**
+   * Registra la clave como "en curso". Devuelve false si ya existía.
+   */
+  private boolean claim(String id, String requestHash) {
+    Instant now = Instant.now();
+    try {
+      newTransaction.executeWithoutResult(status -> idempotencyKeyRepository.insert(
+          new IdempotencyKeyEntity(id, requestHash, null, null, now, now.plus(ttl))));
+      return true;
+    } catch (DataIntegrityViolationException | PersistenceException e) {
+      return false;
+    }
+  }
+
+  private void release(String id) {
+    newTransaction.executeWithoutResult(status -> idempotencyKeyRepository.deleteById(id));
+  }
+
+  private String hash(Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+    } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+      throw new IllegalStateException("Could not hash request for " + HEADER, e);
+    }
+  }
+
+  private String toJson(Object body) {
+    try {
+      return body instanceof String text ? text : objectMapper.writeValueAsString(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not store response for " + HEADER, e);
+    }
+  }
+}
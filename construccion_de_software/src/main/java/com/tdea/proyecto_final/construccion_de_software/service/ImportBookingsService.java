@@ -0,0 +1,265 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdea.proyecto_final.construccion_de_software.cache.TravelCacheInvalidator;
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingImportError;
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingImportResponse;
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Importación masiva de reservas. El cuerpo se lee fila a fila (arreglo JSON o
+ * NDJSON) y se procesa por bloques: por cada bloque se validan los estados,
+ * se comprueba la existencia de usuarios y viajes con dos consultas IN y se
+ * insertan las reservas válidas en lotes JDBC dentro de una transacción. Los
+ * cupos se descuentan con un UPDATE por viaje y bloque. Las filas inválidas o
+ * sin cupo no detienen la importación; se devuelven en el reporte.
+ */
+@Service
+public class ImportBookingsService {
+
+  static final int CHUNK_SIZE = 500;
+  private static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final BookingRepository bookingRepository;
+  private final UserRepository userRepository;
+  private final TravelRepository travelRepository;
+  private final ManageBookingsService manageBookingsService;
+  private final TravelCacheInvalidator travelCacheInvalidator;
+  private final DashboardService dashboardService;
+  private final SeatInventory seatInventory;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+
+  private record Row(long number, BookingRequest request) {
+  }
+
+  public ImportBookingsService(BookingRepository bookingRepository, UserRepository userRepository,
+      TravelRepository travelRepository, ManageBookingsService manageBookingsService,
+      TravelCacheInvalidator travelCacheInvalidator, DashboardService dashboardService, SeatInventory seatInventory,
+      ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+    this.bookingRepository = bookingRepository;
+    this.userRepository = userRepository;
+    this.travelRepository = travelRepository;
+    this.manageBookingsService = manageBookingsService;
+    this.travelCacheInvalidator = travelCacheInvalidator;
+    this.dashboardService = dashboardService;
+    this.seatInventory = seatInventory;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * @param body   contenido de la petición, sin cargarlo completo en memoria
+   * @param ndjson true si cada línea es un objeto JSON; false si es un arreglo
+   */
+  public BookingImportResponse importBookings(InputStream body, boolean ndjson) throws IOException {
+    Report report = new Report();
+    if (ndjson) {
+      readNdjson(body, report);
+    } else {
+      readJsonArray(body, report);
+    }
+    report.flush();
+    return report.toResponse();
+  }
+
+  private void readNdjson(InputStream body, Report report) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    long number = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      number++;
+      try {
+        report.add(new Row(number, objectMapper.readValue(line, BookingRequest.class)));
+      } catch (JsonProcessingException e) {
+        report.malformed(number, "Malformed row: " + e.getOriginalMessage());
+      }
+    }
+  }
+
+  private void readJsonArray(InputStream body, Report report) throws IOException {
+    long number = 0;
+    try (MappingIterator<BookingRequest> rows = objectMapper.readerFor(BookingRequest.class).readValues(body)) {
+      while (true) {
+        try {
+          if (!rows.hasNextValue()) {
+            return;
+          }
+          report.add(new Row(number + 1, rows.nextValue()));
+        } catch (StreamReadException e) {
+          // JSON mal formado: no hay forma fiable de ubicar la siguiente fila
+          report.malformed(number + 1, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+          return;
+        } catch (JsonProcessingException e) {
+          // Tipo incorrecto en un campo: el iterador salta al siguiente elemento
+          report.malformed(number + 1, "Malformed row: " + e.getOriginalMessage());
+        }
+        number++;
+      }
+    }
+  }
+
+  private void insertChunk(List<Row> rows, Report report) {
+    List<Row> candidates = new ArrayList<>(rows.size());
+    Set<Long> userIds = new HashSet<>();
+    Set<Long> travelIds = new HashSet<>();
+
+    for (Row row : rows) {
+      BookingRequest request = row.request();
+      if (!manageBookingsService.isValidStatus(request.getStatus())) {
+        report.reject(row.number(), "Invalid booking status: " + request.getStatus());
+      } else if (request.getUserId() == null || request.getTravelId() == null) {
+        report.reject(row.number(), "userId and travelId are required");
+      } else {
+        candidates.add(row);
+        userIds.add(request.getUserId());
+        travelIds.add(request.getTravelId());
+      }
+    }
+    if (candidates.isEmpty()) {
+      return;
+    }
+
+    List<BookingImportError> missing = new ArrayList<>();
+    List<BookingEntity> inserted;
+    try {
+      inserted = transactionTemplate.execute(status -> {
+        Set<Long> existingUsers = userRepository.findExistingIds(userIds);
+        Set<Long> existingTravels = travelRepository.findExistingIds(travelIds);
+        List<Row> accepted = new ArrayList<>(candidates.size());
+        // Filas que ocupan cupo, por viaje en orden de id: dos importaciones
+        // concurrentes bloquean los viajes en el mismo orden
+        Map<Long, List<Row>> seatRows = new TreeMap<>();
+
+        for (Row row : candidates) {
+          BookingRequest request = row.request();
+          if (!existingUsers.contains(request.getUserId())) {
+            missing.add(new BookingImportError(row.number(), "User not found with id: " + request.getUserId()));
+          } else if (!existingTravels.contains(request.getTravelId())) {
+            missing.add(new BookingImportError(row.number(), "Travel not found with id: " + request.getTravelId()));
+          } else if (BookingStatus.parse(request.getStatus()).orElseThrow().holdsSeat()) {
+            seatRows.computeIfAbsent(request.getTravelId(), id -> new ArrayList<>()).add(row);
+          } else {
+            accepted.add(row);
+          }
+        }
+
+        // Los cupos se descuentan antes de los INSERT (ver SeatInventory.reserve)
+        seatRows.forEach((travelId, travelRows) -> {
+          // Los cupos de un viaje con lista de espera son de la fila
+          if (seatInventory.hasWaitlist(travelId)) {
+            String reason = SeatInventory.waitlisted(travelId).getReason();
+            travelRows.forEach(row -> missing.add(new BookingImportError(row.number(), reason)));
+            return;
+          }
+          int granted = seatInventory.reserveUpTo(travelId, travelRows.size());
+          accepted.addAll(travelRows.subList(0, granted));
+          travelRows.subList(granted, travelRows.size()).forEach(row -> missing.add(
+              new BookingImportError(row.number(), "No seats left on travel: " + travelId)));
+        });
+        accepted.sort(Comparator.comparingLong(Row::number));
+
+        List<BookingEntity> bookings = new ArrayList<>(accepted.size());
+        for (Row row : accepted) {
+          BookingRequest request = row.request();
+          BookingEntity booking = new BookingEntity();
+          booking.setStatus(BookingStatus.parse(request.getStatus()).orElseThrow());
+          booking.setUser(userRepository.getReference(request.getUserId()));
+          booking.setTravel(travelRepository.getReference(request.getTravelId()));
+          bookings.add(booking);
+        }
+
+        bookingRepository.insertAll(bookings);
+        dashboardService.bookingsImported(bookings.stream().map(BookingEntity::getId).toList());
+        return bookings;
+      });
+    } catch (DataAccessException | PersistenceException e) {
+      // La transacción del bloque se revirtió completa
+      for (Row row : candidates) {
+        report.reject(row.number(), "Could not store booking: " + e.getMessage());
+      }
+      return;
+    }
+
+    missing.forEach(error -> report.reject(error.getRow(), error.getMessage()));
+    report.imported += inserted.size();
+    // getId() de la referencia no inicializa el proxy
+    inserted.forEach(booking -> report.touchedTravels.add(booking.getTravel().getId()));
+  }
+
+  /**
+   * Acumula filas hasta completar un bloque y lleva la cuenta del resultado.
+   */
+  private final class Report {
+    private final List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+    private final List<BookingImportError> errors = new ArrayList<>();
+    private final Set<Long> touchedTravels = new HashSet<>();
+    private long received;
+    private long imported;
+    private long rejected;
+
+    void add(Row row) {
+      received++;
+      chunk.add(row);
+      if (chunk.size() == CHUNK_SIZE) {
+        flush();
+      }
+    }
+
+    void malformed(long row, String message) {
+      received++;
+      reject(row, message);
+    }
+
+    void reject(long row, String message) {
+      rejected++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new BookingImportError(row, message));
+      }
+    }
+
+    void flush() {
+      if (!chunk.isEmpty()) {
+        insertChunk(chunk, this);
+        chunk.clear();
+      }
+    }
+
+    BookingImportResponse toResponse() {
+      touchedTravels.forEach(travelCacheInvalidator::invalidate);
+      errors.sort((a, b) -> Long.compare(a.getRow(), b.getRow()));
+      return new BookingImportResponse(received, imported, rejected, errors);
+    }
+  }
+}
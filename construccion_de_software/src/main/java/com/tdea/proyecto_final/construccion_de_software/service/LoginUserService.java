@@ -1,7 +1,6 @@
 package com.tdea.proyecto_final.construccion_de_software.service;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -15,14 +14,17 @@ import lombok.RequiredArgsConstructor;
 public class LoginUserService {
 
   private final UserRepository userRepositoryAdapter;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
 
   public UserEntity login(String username, String rawPassword) {
-    UserEntity user = userRepositoryAdapter.findByUsername(username)
-        .orElseThrow(() -> new RuntimeException("User not found"));
-      System.out.println(rawPassword);
+    UserEntity user = userRepositoryAdapter.findByUsername(username).orElse(null);
+    if (user == null) {
+      // Misma respuesta y mismo tiempo que una contraseña incorrecta
+      passwordHashingService.simulateVerification();
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+    }
     // Verify password using BCrypt
-    if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+    if (!passwordHashingService.matches(rawPassword, user.getPassword())) {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
     }
 
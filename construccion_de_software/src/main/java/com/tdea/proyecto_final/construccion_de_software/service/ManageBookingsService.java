@@ -2,19 +2,24 @@ package com.tdea.proyecto_final.construccion_de_software.service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.tdea.proyecto_final.construccion_de_software.cache.TravelCacheInvalidator;
 import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingResponse;
 import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
 import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
 import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.mapper.BookingMapper;
 import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
 import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
 import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+import com.tdea.proyecto_final.construccion_de_software.search.SuggestionIndex;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,15 +29,16 @@ public class ManageBookingsService {
   private final BookingRepository bookingRepository;
   private final UserRepository userRepository;
   private final TravelRepository travelRepository;
-  private final List<String> status = List.of("PENDING", "CONFIRMED", "CANCELLED", "REJECTED", "ON_HOLD", "REFUNDED",
-      "NO_SHOW", "PAID");
-
+  private final TravelCacheInvalidator travelCacheInvalidator;
+  private final DashboardService dashboardService;
+  private final SuggestionIndex suggestionIndex;
+  private final SeatInventory seatInventory;
+  private final WaitlistService waitlistService;
+  private final BookingMapper bookingMapper;
+
+  @Transactional
   public BookingEntity createBooking(BookingRequest bookingRequest) {
-    // Validate status
-    if (!status.contains(bookingRequest.getStatus())) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-          "Invalid booking status: " + bookingRequest.getStatus());
-    }
+    BookingStatus status = parseStatus(bookingRequest.getStatus());
 
     // Fetch user
     UserEntity user = userRepository.findById(bookingRequest.getUserId())
@@ -44,67 +50,127 @@ public class ManageBookingsService {
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
             "Travel not found with id: " + bookingRequest.getTravelId()));
 
+    // El cupo se descuenta antes del INSERT (ver SeatInventory.reserve)
+    if (status.holdsSeat()) {
+      seatInventory.reserve(travel.getId(), 1);
+    }
+
     // Create booking entity
     BookingEntity booking = new BookingEntity();
-    booking.setStatus(bookingRequest.getStatus());
+    booking.setStatus(status);
     booking.setUser(user);
     booking.setTravel(travel);
 
-    return bookingRepository.save(booking);
+    BookingEntity saved = bookingRepository.save(booking);
+    dashboardService.bookingAdded(saved);
+    travelCacheInvalidator.invalidate(travel.getId());
+    return saved;
   }
 
+  @Transactional
   public BookingEntity createBooking(BookingEntity booking) {
-    if (!status.contains(booking.getStatus())) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid booking status: " + booking.getStatus());
+    if (booking.getStatus() == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Booking status is required.");
     }
 
     if (booking.getUser() == null) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Booking must be associated with a user.");
     }
-    return bookingRepository.save(booking);
+    if (booking.getTravel() != null && booking.getStatus().holdsSeat()) {
+      seatInventory.reserve(booking.getTravel().getId(), 1);
+    }
+    BookingEntity saved = bookingRepository.save(booking);
+    if (saved.getTravel() != null) {
+      dashboardService.bookingAdded(saved);
+      travelCacheInvalidator.invalidate(saved.getTravel().getId());
+    }
+    return saved;
+  }
+
+  public boolean isValidStatus(String bookingStatus) {
+    return BookingStatus.parse(bookingStatus).isPresent();
   }
 
   public BookingEntity getBookingById(Long id) {
-    return bookingRepository.findById(id).orElse(null);
+    return bookingRepository.findDetailById(id).orElse(null);
   }
 
+  @Transactional
   public void deleteBooking(Long id) {
+    BookingEntity booking = bookingRepository.findById(id).orElse(null);
+    Long travelId = null;
+    if (booking != null) {
+      travelId = booking.getTravel().getId();
+      dashboardService.bookingRemoved(booking);
+      if (booking.getStatus().holdsSeat()) {
+        seatInventory.release(travelId, 1);
+        waitlistService.seatsReleased(travelId);
+      }
+    }
     bookingRepository.deleteById(id);
+    travelCacheInvalidator.invalidate(travelId);
   }
 
-  public List<BookingEntity> listBookings() {
-    return bookingRepository.findAll();
+  /**
+   * Los listados se arman desde BookingRow: una consulta con solo las columnas
+   * de la respuesta y sin entidades administradas que revisar al cerrar.
+   */
+  public List<BookingResponse> listBookings() {
+    return bookingMapper.toResponses(bookingRepository.findAllRows());
   }
 
-  public List<BookingEntity> listBookingsByUserId(Long userId) {
-    return bookingRepository.findByUserId(userId);
+  public List<BookingResponse> listBookingsByUserId(Long userId) {
+    return bookingMapper.toResponses(bookingRepository.findRowsByUserId(userId));
   }
 
+  /**
+   * Cambia el estado si BookingStatus permite la transición; repetir el estado
+   * actual no hace nada y una transición no permitida responde 409.
+   */
+  @Transactional
   public BookingEntity updateBookingStatus(Long bookingId, String newStatus) {
-    if (!status.contains(newStatus)) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid booking status: " + newStatus);
-    }
+    BookingStatus status = parseStatus(newStatus);
 
-    BookingEntity booking = bookingRepository.findById(bookingId)
+    BookingEntity booking = bookingRepository.findDetailById(bookingId)
         .orElseThrow(
             () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Booking not found with id: " + bookingId));
 
-    booking.setStatus(newStatus);
-    return bookingRepository.save(booking);
+    BookingStatus previousStatus = booking.getStatus();
+    if (previousStatus == status) {
+      return booking;
+    }
+    if (!previousStatus.canTransitionTo(status)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+          "Cannot change booking status from " + previousStatus + " to " + status);
+    }
+    // Ninguna transición vuelve de un estado cerrado, así que solo se liberan
+    // cupos; la lista de espera los ocupa después de confirmar
+    if (previousStatus.holdsSeat() && !status.holdsSeat()) {
+      seatInventory.release(booking.getTravel().getId(), 1);
+      waitlistService.seatsReleased(booking.getTravel().getId());
+    }
+    booking.setStatus(status);
+    BookingEntity saved = bookingRepository.save(booking);
+    dashboardService.bookingChanged(previousStatus, saved.getPaidAmount(), saved);
+    travelCacheInvalidator.invalidate(booking.getTravel().getId());
+    return saved;
   }
 
+  /**
+   * Un correo o destino exacto (los que devuelve /api/suggest) se compara por
+   * igualdad: el correo como user_id y el destino con su texto registrado, en
+   * lugar de aplicar LIKE. El resto del filtro se resuelve en SQL y no con
+   * TravelSearchIndex, que puede ir por detrás de la base. Como antes, un
+   * estado desconocido devuelve una lista vacía y no un 400.
+   */
   public List<BookingEntity> filterBookings(String status, String userEmail, String destination, LocalDate dateFrom,
       LocalDate dateTo) {
-    List<BookingEntity> bookings = bookingRepository.findAll();
-
-    return bookings.stream()
-        .filter(booking -> status == null || status.equals("") || booking.getStatus().equalsIgnoreCase(status))
-        .filter(booking -> userEmail == null
-            || booking.getUser().getEmail().toLowerCase().contains(userEmail.toLowerCase()))
-        .filter(booking -> destination == null
-            || booking.getTravel().getDestination().toLowerCase().contains(destination.toLowerCase()))
-        .filter(booking -> dateFrom == null || !booking.getTravel().getDepartureDate().isBefore(dateFrom))
-        .filter(booking -> dateTo == null || !booking.getTravel().getDepartureDate().isAfter(dateTo))
-        .collect(Collectors.toList());
+    return bookingRepository.filter(status, suggestionIndex.findUserId(userEmail), userEmail,
+        suggestionIndex.findDestination(destination), destination, dateFrom, dateTo);
+  }
+
+  private BookingStatus parseStatus(String value) {
+    return BookingStatus.parse(value)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid booking status: " + value));
   }
 }
@@ -3,19 +3,27 @@ package com.tdea.proyecto_final.construccion_de_software.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.tdea.proyecto_final.construccion_de_software.cache.TravelCacheInvalidator;
+import com.tdea.proyecto_final.construccion_de_software.dto.CursorPage;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentCursor;
 import com.tdea.proyecto_final.construccion_de_software.dto.PaymentRequest;
 import com.tdea.proyecto_final.construccion_de_software.dto.PaymentResponse;
 import com.tdea.proyecto_final.construccion_de_software.dto.PaymentSummaryResponse;
 import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
 import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
 import com.tdea.proyecto_final.construccion_de_software.mapper.PaymentMapper;
 import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
 import com.tdea.proyecto_final.construccion_de_software.repository.PaymentRepository;
+import com.tdea.proyecto_final.construccion_de_software.search.SuggestionIndex;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,58 +31,81 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ManagePaymentsService {
 
+  public static final int MAX_PAGE_SIZE = 500;
+
   private final PaymentRepository paymentRepository;
   private final BookingRepository bookingRepository;
   private final PaymentMapper paymentMapper;
+  private final TravelCacheInvalidator travelCacheInvalidator;
+  private final DashboardService dashboardService;
+  private final SuggestionIndex suggestionIndex;
 
   @Transactional
   public PaymentResponse processPayment(PaymentRequest request) {
-    // Verificar que la reserva existe
-    BookingEntity booking = bookingRepository.findById(request.getBookingId())
+    // Verificar que la reserva existe y bloquearla: dos pagos concurrentes a la
+    // misma reserva se serializan aquí y el segundo ve el saldo actualizado
+    BookingEntity booking = bookingRepository.findForUpdateById(request.getBookingId())
         .orElseThrow(() -> new RuntimeException("Booking not found with id: " + request.getBookingId()));
 
-    // Verificar que la reserva está confirmada
-    if ("CONFIRMED".equals(booking.getStatus())) {
+    return paymentMapper.toResponse(recordPayment(booking, request.getAmount(), request.getPaymentMethod()));
+  }
+
+  /**
+   * Registra un pago con las reglas de {@link #processPayment}: estado que
+   * admite pagos, sin superar el precio y PAID al completarlo. La reserva debe
+   * venir bloqueada o haberse creado en la misma transacción, que nadie más
+   * puede ver todavía.
+   */
+  @Transactional
+  public PaymentEntity recordPayment(BookingEntity booking, BigDecimal amount, String paymentMethod) {
+    // Solo se paga una reserva cuyo estado puede pasar a PAID
+    if (!booking.getStatus().acceptsPayments()) {
       throw new RuntimeException("Cannot process payment for booking with status: " + booking.getStatus());
     }
 
     // Calcular el monto total de la reserva
     BigDecimal totalAmount = booking.getTravel().getPrice();
 
-    // Calcular el monto ya pagado
-    BigDecimal paidAmount = paymentRepository.getTotalPaidAmountByBookingId(booking.getId());
+    // Saldo ya pagado, mantenido en la propia reserva
+    BigDecimal paidAmount = booking.getPaidAmount();
+    BookingStatus previousStatus = booking.getStatus();
 
     // Verificar que no se exceda el monto total
-    BigDecimal newTotal = paidAmount.add(request.getAmount());
+    BigDecimal newTotal = paidAmount.add(amount);
     if (newTotal.compareTo(totalAmount) > 0) {
       throw new RuntimeException("Payment amount exceeds remaining balance. " +
           "Remaining: " + totalAmount.subtract(paidAmount) +
-          ", Attempted: " + request.getAmount());
+          ", Attempted: " + amount);
     }
 
     // Crear el pago
     PaymentEntity payment = new PaymentEntity();
-    payment.setAmount(request.getAmount());
+    payment.setAmount(amount);
     payment.setPaymentDate(LocalDate.now());
-    payment.setPaymentMethod(request.getPaymentMethod());
+    payment.setPaymentMethod(paymentMethod.trim().toUpperCase(Locale.ROOT));
     payment.setBooking(booking);
 
-    // Guardar el pago
+    // Guardar el pago y el nuevo saldo en la misma transacción; la columna
+    // version de la reserva detecta escrituras concurrentes
     PaymentEntity savedPayment = paymentRepository.save(payment);
+    booking.setPaidAmount(newTotal);
 
     // Actualizar el estado de la reserva si está completamente pagada
     if (newTotal.compareTo(totalAmount) == 0) {
-      booking.setStatus("PAID");
-      bookingRepository.save(booking);
+      booking.setStatus(BookingStatus.PAID);
+      travelCacheInvalidator.invalidate(booking.getTravel().getId());
     }
+    bookingRepository.save(booking);
+    dashboardService.bookingChanged(previousStatus, paidAmount, booking);
+    dashboardService.paymentAdded(savedPayment, booking.getTravel().getId());
 
-    return paymentMapper.toResponse(savedPayment);
+    return savedPayment;
   }
 
   @Transactional(readOnly = true)
   public PaymentSummaryResponse getPaymentSummary(Long bookingId) {
     // Verificar que la reserva existe
-    BookingEntity booking = bookingRepository.findById(bookingId)
+    BookingEntity booking = bookingRepository.findWithUserAndTravelById(bookingId)
         .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
 
     // Obtener todos los pagos de la reserva
@@ -82,7 +113,7 @@ public class ManagePaymentsService {
 
     // Calcular montos
     BigDecimal totalAmount = booking.getTravel().getPrice();
-    BigDecimal paidAmount = paymentRepository.getTotalPaidAmountByBookingId(bookingId);
+    BigDecimal paidAmount = booking.getPaidAmount();
 
     return paymentMapper.toPaymentSummary(bookingId, totalAmount, paidAmount, payments);
   }
@@ -93,19 +124,21 @@ public class ManagePaymentsService {
     bookingRepository.findById(bookingId)
         .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
 
-    List<PaymentEntity> payments = paymentRepository.findByBookingIdOrderByPaymentDateDesc(bookingId);
-    return paymentMapper.toResponseList(payments);
+    return paymentRepository.findRowsByBookingId(bookingId).stream()
+        .map(paymentMapper::toResponse)
+        .collect(Collectors.toList());
   }
 
   @Transactional(readOnly = true)
   public List<PaymentResponse> getPaymentsByUser(Long userId) {
-    List<PaymentEntity> payments = paymentRepository.findByUserIdOrderByPaymentDateDesc(userId);
-    return paymentMapper.toResponseList(payments);
+    return paymentRepository.findRowsByUserId(userId).stream()
+        .map(paymentMapper::toResponse)
+        .collect(Collectors.toList());
   }
 
   @Transactional(readOnly = true)
   public PaymentResponse getPaymentById(Long paymentId) {
-    PaymentEntity payment = paymentRepository.findById(paymentId)
+    PaymentEntity payment = paymentRepository.findDetailById(paymentId)
         .orElseThrow(() -> new RuntimeException("Payment not found with id: " + paymentId));
 
     return paymentMapper.toResponse(payment);
@@ -122,43 +155,69 @@ public class ManagePaymentsService {
       throw new RuntimeException("Can only cancel payments made today");
     }
 
-    // Actualizar el estado de la reserva si es necesario
-    BookingEntity booking = payment.getBooking();
+    // Actualizar el estado de la reserva si es necesario, con la fila bloqueada
+    // para no perder pagos o cancelaciones concurrentes
+    BookingEntity booking = bookingRepository.findForUpdateById(payment.getBooking().getId())
+        .orElseThrow(() -> new RuntimeException("Booking not found for payment: " + paymentId));
     BigDecimal totalAmount = booking.getTravel().getPrice();
-    BigDecimal currentPaidAmount = paymentRepository.getTotalPaidAmountByBookingId(booking.getId());
+    BigDecimal currentPaidAmount = booking.getPaidAmount();
     BigDecimal newPaidAmount = currentPaidAmount.subtract(payment.getAmount());
-
-    if (currentPaidAmount.compareTo(totalAmount) == 0 && newPaidAmount.compareTo(totalAmount) < 0) {
-      // Si estaba completamente pagado y ahora ya no, cambiar estado
-      booking.setStatus("CONFIRMED");
-      bookingRepository.save(booking);
+    BookingStatus previousStatus = booking.getStatus();
+    booking.setPaidAmount(newPaidAmount);
+
+    if (currentPaidAmount.compareTo(totalAmount) == 0 && newPaidAmount.compareTo(totalAmount) < 0
+        && previousStatus.canTransitionTo(BookingStatus.CONFIRMED)) {
+      // Si estaba completamente pagado y ahora ya no, vuelve a confirmada; una
+      // reserva reembolsada o finalizada conserva su estado
+      booking.setStatus(BookingStatus.CONFIRMED);
+      travelCacheInvalidator.invalidate(booking.getTravel().getId());
     }
+    bookingRepository.save(booking);
+    dashboardService.bookingChanged(previousStatus, currentPaidAmount, booking);
+    dashboardService.paymentRemoved(payment, booking.getTravel().getId());
 
     // Eliminar el pago
     paymentRepository.deleteById(paymentId);
   }
 
+  /**
+   * Los listados leen PaymentRow (solo las columnas de la respuesta) en lugar
+   * de pagos con su reserva, usuario y viaje como entidades administradas.
+   */
+  @Transactional(readOnly = true)
   public List<PaymentResponse> getAllPayments() {
-    List<PaymentEntity> payments = paymentRepository.findAll();
-    return payments.stream()
+    return paymentRepository.findAllRows().stream()
         .map(paymentMapper::toResponse)
         .collect(Collectors.toList());
   }
 
-  public List<PaymentResponse> filterPayments(String userEmail, String paymentMethod,
-      BigDecimal minAmount, BigDecimal maxAmount, LocalDate dateFrom, LocalDate dateTo) {
-    List<PaymentEntity> payments = paymentRepository.findAll();
-
-    return payments.stream()
-        .filter(
-            payment -> userEmail == null || (payment.getBooking() != null && payment.getBooking().getUser() != null &&
-                payment.getBooking().getUser().getEmail().toLowerCase().contains(userEmail.toLowerCase())))
-        .filter(payment -> paymentMethod == null || payment.getPaymentMethod().equalsIgnoreCase(paymentMethod))
-        .filter(payment -> minAmount == null || payment.getAmount().compareTo(minAmount) >= 0)
-        .filter(payment -> maxAmount == null || payment.getAmount().compareTo(maxAmount) <= 0)
-        .filter(payment -> dateFrom == null || !payment.getPaymentDate().isBefore(dateFrom))
-        .filter(payment -> dateTo == null || !payment.getPaymentDate().isAfter(dateTo))
-        .map(paymentMapper::toResponse)
-        .collect(Collectors.toList());
+  @Transactional(readOnly = true)
+  public List<PaymentResponse> filterPayments(String userEmail, String paymentMethod, BigDecimal minAmount,
+      BigDecimal maxAmount, LocalDate dateFrom, LocalDate dateTo) {
+    return paymentMapper.toResponseList(paymentRepository.filter(suggestionIndex.findUserId(userEmail), userEmail,
+        paymentMethod, minAmount, maxAmount, dateFrom, dateTo));
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPage<PaymentResponse> filterPayments(String userEmail, String paymentMethod,
+      BigDecimal minAmount, BigDecimal maxAmount, LocalDate dateFrom, LocalDate dateTo, String cursor, int size) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Page size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    // Se pide una fila extra para saber si existe una página siguiente. Un
+    // correo exacto se resuelve al id del usuario y se compara user_id
+    List<PaymentEntity> payments = paymentRepository.filter(suggestionIndex.findUserId(userEmail), userEmail,
+        paymentMethod, minAmount, maxAmount, dateFrom, dateTo, PaymentCursor.decode(cursor), size + 1);
+
+    String nextCursor = null;
+    if (payments.size() > size) {
+      payments = payments.subList(0, size);
+      PaymentEntity last = payments.get(size - 1);
+      nextCursor = new PaymentCursor(last.getPaymentDate(), last.getId()).encode();
+    }
+
+    return new CursorPage<>(paymentMapper.toResponseList(payments), nextCursor);
   }
 }
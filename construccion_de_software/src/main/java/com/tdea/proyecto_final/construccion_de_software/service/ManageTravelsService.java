@@ -2,56 +2,188 @@ package com.tdea.proyecto_final.construccion_de_software.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.cache.TravelCacheInvalidator;
+import com.tdea.proyecto_final.construccion_de_software.config.CacheConfig;
+import com.tdea.proyecto_final.construccion_de_software.dto.CursorPage;
+import com.tdea.proyecto_final.construccion_de_software.dto.TravelResponse;
+import com.tdea.proyecto_final.construccion_de_software.dto.TravelSearchResult;
 import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.mapper.TravelMapper;
+import com.tdea.proyecto_final.construccion_de_software.search.SuggestionIndex;
+import com.tdea.proyecto_final.construccion_de_software.search.TravelSearchIndex;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ManageTravelsService {
+  public static final int MAX_PAGE_SIZE = 500;
+  private static final int STREAM_CLEAR_INTERVAL = 100;
+  private static final int MAX_SEARCH_RESULTS = 50;
+
   private final TravelRepository travelRepository;
+  private final TravelMapper travelMapper;
+  private final TravelCacheInvalidator travelCacheInvalidator;
+  private final DashboardService dashboardService;
+  private final TravelSearchIndex travelSearchIndex;
+  private final SuggestionIndex suggestionIndex;
+  private final SeatInventory seatInventory;
+  private final WaitlistService waitlistService;
 
   public TravelEntity createTravel(TravelEntity travel) {
-    return travelRepository.save(travel);
+    validateCapacity(travel.getCapacity());
+    // Los cupos libres los fija el servidor, no el cliente
+    travel.setRemainingSeats(travel.getCapacity());
+    TravelEntity saved = travelRepository.save(travel);
+    travelCacheInvalidator.invalidate(saved.getId());
+    travelSearchIndex.put(saved.getId(), saved.getDestination(), saved.getItinerary());
+    suggestionIndex.travelSaved(saved.getId(), saved.getDestination());
+    return saved;
   }
 
-  public List<TravelEntity> listTravels() {
-    return travelRepository.findAll();
+  /**
+   * Catálogo completo, servido desde la caché mientras ningún viaje o reserva
+   * cambie.
+   */
+  @Cacheable(cacheNames = CacheConfig.TRAVEL_CATALOG, key = "#includeBookings", sync = true)
+  @Transactional(readOnly = true)
+  public List<TravelResponse> listTravels(boolean includeBookings) {
+    // Sin reservas basta con las filas de travels, sin joins
+    List<TravelEntity> travels = includeBookings ? travelRepository.findAllWithBookings() : travelRepository.findAll();
+    return travels.stream()
+        .map(travel -> travelMapper.toResponse(travel, includeBookings))
+        .collect(Collectors.toList());
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPage<TravelResponse> listTravels(Long afterId, int size, boolean includeBookings) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Page size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    List<TravelEntity> travels = travelRepository.findPage(afterId, size + 1);
+    String nextCursor = null;
+    if (travels.size() > size) {
+      travels = travels.subList(0, size);
+      nextCursor = String.valueOf(travels.get(size - 1).getId());
+    }
+
+    List<TravelResponse> items = travels.stream()
+        .map(travel -> travelMapper.toResponse(travel, includeBookings))
+        .collect(Collectors.toList());
+    return new CursorPage<>(items, nextCursor);
+  }
+
+  /**
+   * Entrega el catálogo completo fila por fila según lo produce el cursor de la
+   * base de datos; el contexto de persistencia se vacía cada
+   * {@code STREAM_CLEAR_INTERVAL} filas para que la memoria no crezca con el
+   * tamaño del catálogo.
+   */
+  @Transactional(readOnly = true)
+  public void streamTravels(boolean includeBookings, Consumer<TravelResponse> consumer) {
+    try (Stream<TravelEntity> travels = travelRepository.streamAll()) {
+      int[] count = { 0 };
+      travels.forEach(travel -> {
+        consumer.accept(travelMapper.toResponse(travel, includeBookings));
+        if (++count[0] % STREAM_CLEAR_INTERVAL == 0) {
+          travelRepository.clearLoaded();
+        }
+      });
+    }
   }
 
   public TravelEntity getTravelById(Long id) {
-    return travelRepository.findById(id).orElse(null);
+    return travelRepository.findDetailById(id).orElse(null);
   }
 
+  @Cacheable(cacheNames = CacheConfig.TRAVELS, key = "#id", sync = true)
+  @Transactional(readOnly = true)
+  public TravelResponse getTravelResponseById(Long id) {
+    return travelRepository.findDetailById(id)
+        .map(travelMapper::toResponse)
+        .orElse(null);
+  }
+
+  /**
+   * Reemplaza los datos del viaje. La fila se lee bloqueada para que un cambio
+   * de capacidad recalcule los cupos libres sin reservas concurrentes.
+   */
+  @Transactional
   public TravelEntity updateTravel(Long id, TravelEntity travelData) {
-    TravelEntity existingTravel = travelRepository.findById(id).orElse(null);
+    validateCapacity(travelData.getCapacity());
+    TravelEntity existingTravel = travelRepository.findForUpdateById(id).orElse(null);
     if (existingTravel != null) {
+      if (!Objects.equals(existingTravel.getCapacity(), travelData.getCapacity())) {
+        existingTravel.setRemainingSeats(
+            seatInventory.remainingAfterCapacityChange(existingTravel, travelData.getCapacity()));
+        existingTravel.setCapacity(travelData.getCapacity());
+        if (existingTravel.getRemainingSeats() == null || existingTravel.getRemainingSeats() > 0) {
+          waitlistService.seatsReleased(id);
+        }
+      }
+      dashboardService.travelPriceChanged(id, existingTravel.getPrice(), travelData.getPrice());
       existingTravel.setDestination(travelData.getDestination());
       existingTravel.setDepartureDate(travelData.getDepartureDate());
       existingTravel.setReturnDate(travelData.getReturnDate());
       existingTravel.setPrice(travelData.getPrice());
       existingTravel.setItinerary(travelData.getItinerary());
-      return travelRepository.save(existingTravel);
+      TravelEntity saved = travelRepository.save(existingTravel);
+      travelCacheInvalidator.invalidate(id);
+      travelSearchIndex.put(id, saved.getDestination(), saved.getItinerary());
+      suggestionIndex.travelSaved(id, saved.getDestination());
+      return saved;
     }
     return null;
   }
 
+  /**
+   * Autocompletado de destinos e itinerarios, resuelto solo con el índice.
+   */
+  public List<TravelSearchResult> searchTravels(String query, int limit) {
+    if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "limit must be between 1 and " + MAX_SEARCH_RESULTS);
+    }
+    return travelSearchIndex.search(query, limit);
+  }
+
   public void deleteTravel(Long id) {
     travelRepository.deleteById(id);
+    travelCacheInvalidator.invalidate(id);
+    travelSearchIndex.remove(id);
+    suggestionIndex.travelRemoved(id);
   }
 
+  /**
+   * El destino se filtra en SQL, así que solo se cargan los viajes que
+   * coinciden: por igualdad si es uno de los que sugiere SuggestionIndex y con
+   * LIKE si es un texto parcial. TravelSearchIndex queda para el
+   * autocompletado: puede ir por detrás de la base hasta su próxima
+   * reconstrucción. Las reservas no se traen aquí: solo las de los viajes que
+   * pasan los filtros se cargan, en lotes, cuando la respuesta las recorre.
+   */
   public List<TravelEntity> filterTravels(String destination, LocalDate departureDate, LocalDate arrivalDate,
       String status) {
-    List<TravelEntity> travels = travelRepository.findAll();
+    String exactDestination = suggestionIndex.findDestination(destination);
+    List<TravelEntity> travels = destination == null ? travelRepository.findAll()
+        : exactDestination != null ? travelRepository.findByDestination(exactDestination)
+        : travelRepository.findByDestinationContaining(destination);
 
     return travels.stream()
-        .filter(
-            travel -> destination == null || travel.getDestination().toLowerCase().contains(destination.toLowerCase()))
         .filter(travel -> departureDate == null || travel.getDepartureDate().isAfter(departureDate)
             || travel.getDepartureDate().isEqual(departureDate))
         .filter(travel -> arrivalDate == null || travel.getReturnDate().isBefore(arrivalDate)
@@ -59,4 +191,10 @@ public class ManageTravelsService {
         .filter(travel -> status == null || status.equals("") || travel.getStatus().equalsIgnoreCase(status))
         .collect(Collectors.toList());
   }
+
+  private static void validateCapacity(Integer capacity) {
+    if (capacity != null && capacity < 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "capacity must not be negative");
+    }
+  }
 }
@@ -0,0 +1,140 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tdea.proyecto_final.construccion_de_software.config.PasswordConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Hashea y verifica contraseñas en el executor acotado de PasswordConfig en
+ * lugar del hilo de la petición. Si la cola está llena o la tarea no termina a
+ * tiempo se responde 503 en vez de seguir acumulando hilos de Tomcat.
+ * Publica auth.password.hashing (por operación) y auth.password.rejected.
+ */
+@Service
+public class PasswordHashingService {
+
+  private static final String METRIC = "auth.password.hashing";
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  private final Duration timeout;
+  private final Timer encodeTimer;
+  private final Timer verifyTimer;
+  private final Timer unknownUserTimer;
+  private final Counter rejected;
+
+  // Duración típica de matches vista desde el hilo de la petición (espera en
+  // cola más BCrypt), para que un usuario inexistente tarde lo mismo que una
+  // contraseña incorrecta también cuando el executor está ocupado
+  private volatile long typicalMatchesNanos;
+
+  public PasswordHashingService(PasswordEncoder passwordEncoder,
+      @Qualifier(PasswordConfig.HASHING_EXECUTOR) ThreadPoolExecutor executor, MeterRegistry meterRegistry,
+      @Value("${app.security.hashing.timeout:5s}") Duration timeout) {
+    this.passwordEncoder = passwordEncoder;
+    this.executor = executor;
+    this.timeout = timeout;
+    this.encodeTimer = timer(meterRegistry, "encode");
+    this.verifyTimer = timer(meterRegistry, "verify");
+    this.unknownUserTimer = timer(meterRegistry, "unknown-user");
+    this.rejected = Counter.builder("auth.password.rejected")
+        .description("Operaciones de contraseña rechazadas por cola llena o tiempo agotado")
+        .register(meterRegistry);
+
+    // Calibración inicial con el mismo factor de trabajo del encoder
+    String sample = passwordEncoder.encode("calibration");
+    long start = System.nanoTime();
+    passwordEncoder.matches("calibration", sample);
+    this.typicalMatchesNanos = System.nanoTime() - start;
+  }
+
+  public String encode(String rawPassword) {
+    return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+  }
+
+  public boolean matches(String rawPassword, String encodedPassword) {
+    long submitted = System.nanoTime();
+    boolean matches = run(() -> verifyTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    long elapsed = System.nanoTime() - submitted;
+    // Media móvil exponencial; una carrera entre hilos solo pierde una muestra
+    typicalMatchesNanos += (elapsed - typicalMatchesNanos) / 8;
+    return matches;
+  }
+
+  /**
+   * Espera en el hilo de la petición lo que tarda una llamada típica a
+   * matches, cola incluida, sin gastar CPU, consultar la base de datos ni
+   * ocupar un hilo de BCrypt. Con la cola llena responde 503 igual que una
+   * verificación real, para que un usuario inexistente no se distinga de uno
+   * con contraseña incorrecta.
+   */
+  public void simulateVerification() {
+    if (executor.getQueue().remainingCapacity() == 0) {
+      throw unavailable();
+    }
+    long start = System.nanoTime();
+    try {
+      TimeUnit.NANOSECONDS.sleep(typicalMatchesNanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw unavailable();
+    }
+    unknownUserTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  private <T> T run(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      throw unavailable();
+    }
+    try {
+      return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw unavailable();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw unavailable();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  private ResponseStatusException unavailable() {
+    rejected.increment();
+    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+        "Too many authentication requests in progress, retry later");
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, String operation) {
+    return Timer.builder(METRIC)
+        .tag("operation", operation)
+        .description("Duración de BCrypt sin contar la espera en cola")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,157 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Token buckets en memoria por política y clave (usuario, IP...). Cada
+ * política se configura con app.rate-limit.&lt;política&gt;.capacity y
+ * refill-period: capacity intentos de ráfaga que se recuperan por completo en
+ * refill-period. Una política sin capacity no limita.
+ *
+ * Cada bucket es un solo AtomicLong con el instante en que volvería a estar
+ * lleno (GCRA, equivalente a un token bucket), así que consumir un token es
+ * un compareAndSet sin bloqueos. Los buckets viven en una caché acotada que
+ * descarta los inactivos durante refill-period, cuando ya estarían llenos.
+ */
+@Service
+public class RateLimiter {
+
+  private static final String PREFIX = "app.rate-limit.";
+
+  private final Binder binder;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier nanoClock;
+  private final long maxKeys;
+  private final Map<String, Optional<Policy>> policies = new ConcurrentHashMap<>();
+
+  @Autowired
+  public RateLimiter(ConfigurableEnvironment environment, MeterRegistry meterRegistry) {
+    this(environment, meterRegistry, System::nanoTime);
+  }
+
+  RateLimiter(ConfigurableEnvironment environment, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+    this.binder = Binder.get(environment);
+    this.meterRegistry = meterRegistry;
+    this.nanoClock = nanoClock;
+    this.maxKeys = binder.bind(PREFIX + "max-keys", Long.class).orElse(100_000L);
+  }
+
+  /**
+   * Consume un token o lanza 429 con Retry-After. No toca la base de datos.
+   */
+  public void acquire(String policyName, String key) {
+    if (key == null || key.isBlank()) {
+      return;
+    }
+    Policy policy = policies.computeIfAbsent(policyName, this::loadPolicy).orElse(null);
+    if (policy == null) {
+      return;
+    }
+    long waitNanos = policy.tryAcquire(key, nanoClock.getAsLong());
+    if (waitNanos == 0) {
+      policy.allowed.increment();
+      return;
+    }
+    policy.rejected.increment();
+    long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    throw new TooManyRequestsException(retryAfter);
+  }
+
+  private Optional<Policy> loadPolicy(String name) {
+    int capacity = binder.bind(PREFIX + name + ".capacity", Integer.class).orElse(0);
+    if (capacity <= 0) {
+      return Optional.empty();
+    }
+    Duration refillPeriod = binder.bind(PREFIX + name + ".refill-period", Duration.class)
+        .orElse(Duration.ofMinutes(1));
+    return Optional.of(new Policy(name, capacity, refillPeriod));
+  }
+
+  /**
+   * 429 con la cabecera Retry-After en segundos.
+   */
+  private static final class TooManyRequestsException extends ResponseStatusException {
+    private final HttpHeaders headers = new HttpHeaders();
+
+    TooManyRequestsException(long retryAfterSeconds) {
+      super(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, retry in " + retryAfterSeconds + " s");
+      headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+  }
+
+  private final class Policy {
+    private final long periodNanos;
+    private final long intervalNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    Policy(String name, int capacity, Duration refillPeriod) {
+      this.periodNanos = refillPeriod.toNanos();
+      this.intervalNanos = Math.max(1, periodNanos / capacity);
+      this.buckets = Caffeine.newBuilder()
+          .maximumSize(maxKeys)
+          .expireAfterAccess(refillPeriod)
+          .build();
+      this.allowed = counter(name, "allowed");
+      this.rejected = counter(name, "rejected");
+      Gauge.builder("rate.limiter.keys", buckets, Cache::estimatedSize)
+          .tag("policy", name)
+          .description("Claves con bucket activo")
+          .register(meterRegistry);
+    }
+
+    /**
+     * @return 0 si se consumió un token; si no, los nanosegundos hasta el
+     *         siguiente
+     */
+    long tryAcquire(String key, long now) {
+      AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+      while (true) {
+        long current = fullAt.get();
+        long next = Math.max(current, now) + intervalNanos;
+        long overflow = next - now - periodNanos;
+        if (overflow > 0) {
+          return overflow;
+        }
+        if (fullAt.compareAndSet(current, next)) {
+          return 0;
+        }
+      }
+    }
+
+    private Counter counter(String name, String result) {
+      return Counter.builder("rate.limiter.requests")
+          .tag("policy", name)
+          .tag("result", result)
+          .description("Intentos admitidos o rechazados por el limitador")
+          .register(meterRegistry);
+    }
+  }
+}
@@ -2,13 +2,13 @@ package com.tdea.proyecto_final.construccion_de_software.service;
 
 import java.util.List;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
 import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
 import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.search.SuggestionIndex;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,7 +17,8 @@ import lombok.RequiredArgsConstructor;
 public class RegisterUserService {
 
   private final UserRepository userRepositoryAdapter;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
+  private final SuggestionIndex suggestionIndex;
   private List<String> roles = List.of("ADMIN", "CLIENT");
 
   public UserEntity register(UserEntity user) {
@@ -28,16 +29,18 @@ public class RegisterUserService {
     if (user.getPassword().length() > 50)
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Password must not exceed 50 characters");
 
-    try {
-      // Encrypt the password before saving
-      String encryptedPassword = passwordEncoder.encode(user.getPassword());
-      user.setPassword(encryptedPassword);
+    // Encrypt the password before saving; a full hashing queue answers 503
+    String encryptedPassword = passwordHashingService.encode(user.getPassword());
+    user.setPassword(encryptedPassword);
 
-      UserEntity saved = userRepositoryAdapter.save(user);
-      return saved;
+    UserEntity saved;
+    try {
+      saved = userRepositoryAdapter.save(user);
     } catch (Exception e) {
       throw new ResponseStatusException(HttpStatus.CONFLICT, "User already exists or invalid data");
     }
+    suggestionIndex.userRegistered(saved.getId(), saved.getEmail());
+    return saved;
   }
 
 }
@@ -0,0 +1,152 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.WaitlistRepository;
+
+/**
+ * Cupos por viaje. La base de datos es la fuente de verdad: cada reserva
+ * descuenta con un UPDATE condicional (remaining_seats >= n) dentro de su
+ * transacción, así que un rollback devuelve el cupo y dos viajes distintos
+ * nunca compiten por la misma fila.
+ *
+ * Delante hay una marca en memoria de viajes agotados: en una venta masiva,
+ * una vez agotado el viaje, los intentos siguientes se rechazan sin ir a la
+ * base. Liberar un cupo en este nodo la borra; en otros nodos vence con
+ * app.seats.sold-out-ttl.
+ *
+ * Mientras el viaje tenga lista de espera los cupos que se liberan son de la
+ * fila: las reservas directas se rechazan aunque la promoción, que corre
+ * después de confirmar la liberación, todavía no los haya tomado.
+ */
+@Service
+public class SeatInventory {
+
+  private static final Set<BookingStatus> SEAT_HOLDERS = EnumSet.noneOf(BookingStatus.class);
+
+  static {
+    for (BookingStatus status : BookingStatus.values()) {
+      if (status.holdsSeat()) {
+        SEAT_HOLDERS.add(status);
+      }
+    }
+  }
+
+  private final TravelRepository travelRepository;
+  private final BookingRepository bookingRepository;
+  private final WaitlistRepository waitlistRepository;
+  private final Cache<Long, Boolean> soldOut;
+
+  public SeatInventory(TravelRepository travelRepository, BookingRepository bookingRepository,
+      WaitlistRepository waitlistRepository, @Value("${app.seats.sold-out-ttl:2s}") Duration soldOutTtl) {
+    this.travelRepository = travelRepository;
+    this.bookingRepository = bookingRepository;
+    this.waitlistRepository = waitlistRepository;
+    this.soldOut = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterWrite(soldOutTtl)
+        .build();
+  }
+
+  /**
+   * Descuenta seats cupos del viaje para una reserva directa o responde 409 si
+   * no quedan o si hay gente en la lista de espera. Debe llamarse en la
+   * transacción de la reserva y antes de insertarla: el INSERT toma un bloqueo
+   * compartido sobre el viaje (clave foránea) y pedir después el exclusivo del
+   * UPDATE interbloquearía dos reservas simultáneas. La fila se consulta
+   * después del UPDATE, con el viaje ya bloqueado; el 409 revierte el
+   * descuento junto con la transacción.
+   */
+  public void reserve(Long travelId, int seats) {
+    if (!tryReserve(travelId, seats)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "No seats left on travel: " + travelId);
+    }
+    if (hasWaitlist(travelId)) {
+      throw waitlisted(travelId);
+    }
+  }
+
+  /**
+   * Si los cupos que se liberen en el viaje son de la lista de espera.
+   */
+  public boolean hasWaitlist(Long travelId) {
+    return waitlistRepository.hasWaiting(travelId);
+  }
+
+  public static ResponseStatusException waitlisted(Long travelId) {
+    return new ResponseStatusException(HttpStatus.CONFLICT,
+        "Travel " + travelId + " has a waitlist; join it to get a seat");
+  }
+
+  /**
+   * Como {@link #reserve}, pero devuelve false en lugar de fallar.
+   */
+  public boolean tryReserve(Long travelId, int seats) {
+    if (soldOut.getIfPresent(travelId) != null) {
+      return false;
+    }
+    if (travelRepository.reserveSeats(travelId, seats)) {
+      return true;
+    }
+    // Solo si no queda ni uno; pedir varios puede fallar con cupos libres
+    if (seats == 1) {
+      soldOut.put(travelId, Boolean.TRUE);
+    }
+    return false;
+  }
+
+  /**
+   * Reserva los cupos de un bloque con un solo UPDATE; si no alcanzan, uno a
+   * uno hasta agotar el viaje. Devuelve cuántos se concedieron. No mira la
+   * lista de espera: la promoción lo usa para tomar los cupos de la fila.
+   */
+  public int reserveUpTo(Long travelId, int seats) {
+    if (tryReserve(travelId, seats)) {
+      return seats;
+    }
+    int granted = 0;
+    while (granted < seats && tryReserve(travelId, 1)) {
+      granted++;
+    }
+    return granted;
+  }
+
+  public void release(Long travelId, int seats) {
+    travelRepository.releaseSeats(travelId, seats);
+    soldOut.invalidate(travelId);
+  }
+
+  /**
+   * Cupos libres tras fijar una nueva capacidad (null sin límite). El viaje
+   * debe venir bloqueado (TravelRepository.findForUpdateById) para que ninguna
+   * reserva cambie la cuenta mientras tanto. Responde 409 si la capacidad es
+   * menor que los cupos ya ocupados.
+   */
+  public Integer remainingAfterCapacityChange(TravelEntity lockedTravel, Integer capacity) {
+    soldOut.invalidate(lockedTravel.getId());
+    if (capacity == null) {
+      return null;
+    }
+    long taken = lockedTravel.getCapacity() != null
+        ? lockedTravel.getCapacity() - lockedTravel.getRemainingSeats()
+        : bookingRepository.countByTravel(lockedTravel.getId(), SEAT_HOLDERS);
+    if (capacity < taken) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+          "Capacity " + capacity + " is below the " + taken + " seats already booked");
+    }
+    return (int) (capacity - taken);
+  }
+}
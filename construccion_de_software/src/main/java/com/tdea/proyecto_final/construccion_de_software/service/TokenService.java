@@ -0,0 +1,144 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdea.proyecto_final.construccion_de_software.dto.AuthResponse;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+
+/**
+ * Emite y valida tokens JWT firmados con HMAC-SHA256. El token lleva el id,
+ * el usuario y el rol, así que validar una petición no consulta la base de
+ * datos ni ejecuta BCrypt: solo un HMAC y la lectura de un JSON pequeño.
+ */
+@Service
+public class TokenService {
+
+  private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int MIN_SECRET_BYTES = 32;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+  // Cabecera fija: cualquier otro "alg" (incluido "none") se rechaza
+  private static final String HEADER = ENCODER.encodeToString(
+      "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+
+  private final ObjectMapper objectMapper;
+  private final Mac prototype;
+  private final Duration ttl;
+  private final Clock clock;
+
+  /**
+   * Contenido del token. sub es el id del usuario.
+   */
+  public record Claims(@JsonProperty("sub") Long userId, String username, String rol,
+      @JsonProperty("iat") long issuedAt, @JsonProperty("exp") long expiresAt) {
+  }
+
+  @Autowired
+  public TokenService(ObjectMapper objectMapper, @Value("${app.security.jwt.secret:}") String secret,
+      @Value("${app.security.jwt.ttl:1h}") Duration ttl) {
+    this(objectMapper, secret, ttl, Clock.systemUTC());
+  }
+
+  TokenService(ObjectMapper objectMapper, String secret, Duration ttl, Clock clock) {
+    this.objectMapper = objectMapper;
+    this.ttl = ttl;
+    this.clock = clock;
+    this.prototype = newMac(key(secret));
+  }
+
+  public AuthResponse issue(UserEntity user) {
+    long now = clock.instant().getEpochSecond();
+    Claims claims = new Claims(user.getId(), user.getUsername(), user.getRol(), now, now + ttl.toSeconds());
+    try {
+      String unsigned = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+      String token = unsigned + "." + ENCODER.encodeToString(sign(unsigned));
+      return new AuthResponse(token, Instant.ofEpochSecond(claims.expiresAt()), user.getId(), user.getUsername(),
+          user.getName(), user.getRol());
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not issue token", e);
+    }
+  }
+
+  /**
+   * Claims del token si la firma es válida y no ha vencido.
+   */
+  public Optional<Claims> parse(String token) {
+    int firstDot = token.indexOf('.');
+    int lastDot = token.lastIndexOf('.');
+    if (firstDot <= 0 || lastDot == firstDot || !token.startsWith(HEADER + ".")) {
+      return Optional.empty();
+    }
+    try {
+      byte[] signature = DECODER.decode(token.substring(lastDot + 1));
+      if (!MessageDigest.isEqual(signature, sign(token.substring(0, lastDot)))) {
+        return Optional.empty();
+      }
+      Claims claims = objectMapper.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)), Claims.class);
+      if (claims.expiresAt() <= clock.instant().getEpochSecond()) {
+        return Optional.empty();
+      }
+      return Optional.of(claims);
+    } catch (IllegalArgumentException | IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private byte[] sign(String unsigned) {
+    try {
+      // Mac no es seguro entre hilos; clonar el ya inicializado evita repetir
+      // la derivación de la clave en cada petición
+      Mac mac = (Mac) prototype.clone();
+      return mac.doFinal(unsigned.getBytes(StandardCharsets.US_ASCII));
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(ALGORITHM + " cannot be cloned", e);
+    }
+  }
+
+  private static byte[] key(String secret) {
+    if (secret == null || secret.isBlank()) {
+      log.warn("app.security.jwt.secret is not set; using a random key, tokens will not survive a restart"
+          + " or work across nodes");
+      byte[] random = new byte[MIN_SECRET_BYTES];
+      new SecureRandom().nextBytes(random);
+      return random;
+    }
+    byte[] key = Base64.getDecoder().decode(secret);
+    if (key.length < MIN_SECRET_BYTES) {
+      throw new IllegalStateException("app.security.jwt.secret must be at least " + MIN_SECRET_BYTES
+          + " bytes encoded in Base64");
+    }
+    return key;
+  }
+
+  private static Mac newMac(byte[] key) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(new SecretKeySpec(key, ALGORITHM));
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(ALGORITHM + " is not available", e);
+    }
+  }
+}
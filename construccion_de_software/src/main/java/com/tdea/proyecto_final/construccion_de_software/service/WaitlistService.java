@@ -0,0 +1,222 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tdea.proyecto_final.construccion_de_software.cache.TravelCacheInvalidator;
+import com.tdea.proyecto_final.construccion_de_software.dto.WaitlistPosition;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.WaitlistEntryEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.WaitlistRepository;
+import com.tdea.proyecto_final.construccion_de_software.support.AfterCommit;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lista de espera por viaje, en orden de llegada. Cuando se libera un cupo
+ * (cancelación, rechazo, borrado o más capacidad) el viaje se encola para
+ * promoción al confirmarse la transacción y un hilo aparte convierte a los
+ * primeros de la fila en reservas PENDING, tantos como cupos haya, en bloques
+ * de app.waitlist.promotion-batch por transacción. Así el cambio de estado no
+ * espera a la promoción.
+ *
+ * La promoción toma primero los cupos (el UPDATE bloquea la fila del viaje) y
+ * después la cabeza de la fila con SELECT ... FOR UPDATE, en el mismo orden
+ * que una reserva normal, así que varias promociones del mismo viaje, aunque
+ * corran en nodos distintos, se turnan sin interbloquearse. Si un aviso se
+ * pierde (un nodo que se detiene), el barrido periódico lo recupera.
+ */
+@Service
+public class WaitlistService {
+
+  private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+  private final WaitlistRepository waitlistRepository;
+  private final TravelRepository travelRepository;
+  private final UserRepository userRepository;
+  private final BookingRepository bookingRepository;
+  private final SeatInventory seatInventory;
+  private final DashboardService dashboardService;
+  private final TravelCacheInvalidator travelCacheInvalidator;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final ExecutorService promotions;
+  // Viajes ya encolados; varios avisos seguidos se atienden con una pasada
+  private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+  public WaitlistService(WaitlistRepository waitlistRepository, TravelRepository travelRepository,
+      UserRepository userRepository, BookingRepository bookingRepository, SeatInventory seatInventory,
+      DashboardService dashboardService, TravelCacheInvalidator travelCacheInvalidator,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.waitlist.promotion-batch:50}") int batchSize,
+      @Value("${app.waitlist.promotion-threads:2}") int threads) {
+    this.waitlistRepository = waitlistRepository;
+    this.travelRepository = travelRepository;
+    this.userRepository = userRepository;
+    this.bookingRepository = bookingRepository;
+    this.seatInventory = seatInventory;
+    this.dashboardService = dashboardService;
+    this.travelCacheInvalidator = travelCacheInvalidator;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.promotions = Executors.newFixedThreadPool(threads,
+        Thread.ofPlatform().name("waitlist-promotion-", 1).daemon().factory());
+  }
+
+  /**
+   * Pone al usuario al final de la fila del viaje. Solo se admite con el viaje
+   * agotado o con gente ya esperando (409 si quedan cupos y nadie espera); si
+   * ya estaba en la fila devuelve su puesto.
+   */
+  @Transactional
+  public WaitlistPosition join(Long travelId, Long userId) {
+    TravelEntity travel = travelRepository.findById(travelId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Travel not found with id: " + travelId));
+    UserEntity user = userRepository.findById(userId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with id: " + userId));
+
+    WaitlistEntryEntity entry = waitlistRepository.findByTravelAndUser(travelId, userId).orElse(null);
+    if (entry == null) {
+      // Con gente esperando los cupos libres ya son de la fila (ver SeatInventory)
+      if ((travel.getRemainingSeats() == null || travel.getRemainingSeats() > 0)
+          && !waitlistRepository.hasWaiting(travelId)) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT,
+            "Travel " + travelId + " still has seats; book it directly");
+      }
+      // A la precisión de la columna (datetime(6)): el puesto se calcula
+      // comparando este valor con los guardados
+      Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+      entry = waitlistRepository.save(new WaitlistEntryEntity(null, travel, user, now));
+    }
+    return new WaitlistPosition(travelId, userId, waitlistRepository.position(entry));
+  }
+
+  @Transactional(readOnly = true)
+  public WaitlistPosition position(Long travelId, Long userId) {
+    WaitlistEntryEntity entry = findEntry(travelId, userId);
+    return new WaitlistPosition(travelId, userId, waitlistRepository.position(entry));
+  }
+
+  @Transactional
+  public void leave(Long travelId, Long userId) {
+    waitlistRepository.delete(findEntry(travelId, userId));
+  }
+
+  /**
+   * Avisa que el viaje tiene cupos libres. La promoción se encola cuando la
+   * transacción en curso se confirma (de inmediato si no hay una); si se
+   * revierte, el cupo no llegó a liberarse y el aviso se descarta.
+   */
+  public void seatsReleased(Long travelId) {
+    AfterCommit.run(() -> schedule(travelId));
+  }
+
+  /**
+   * Recupera los viajes con gente esperando y cupos libres cuyo aviso no llegó.
+   */
+  @Scheduled(fixedDelayString = "${app.waitlist.sweep-interval:1m}",
+      initialDelayString = "${app.waitlist.sweep-interval:1m}")
+  public void sweep() {
+    waitlistRepository.findTravelIdsWithFreeSeats().forEach(this::schedule);
+  }
+
+  /**
+   * Promueve a los primeros de la fila mientras queden cupos y devuelve cuántos
+   * pasaron a tener reserva. Cada bloque va en su propia transacción.
+   */
+  public int promote(Long travelId) {
+    int total = 0;
+    int promoted;
+    do {
+      promoted = transactionTemplate.execute(status -> promoteBatch(travelId));
+      total += promoted;
+    } while (promoted == batchSize);
+    if (total > 0) {
+      log.info("Promoted {} waitlisted customers on travel {}", total, travelId);
+    }
+    return total;
+  }
+
+  private int promoteBatch(Long travelId) {
+    List<Long> waiting = waitlistRepository.peekHead(travelId, batchSize);
+    if (waiting.isEmpty()) {
+      return 0;
+    }
+    // Los cupos antes que la fila y que los INSERT (ver SeatInventory.reserve)
+    int granted = seatInventory.reserveUpTo(travelId, waiting.size());
+    if (granted == 0) {
+      return 0;
+    }
+    List<WaitlistEntryEntity> head = waitlistRepository.lockHead(travelId, granted);
+    if (head.size() < granted) {
+      // Alguien salió de la fila entre la lectura y el bloqueo
+      seatInventory.release(travelId, granted - head.size());
+    }
+
+    TravelEntity travel = travelRepository.findById(travelId).orElseThrow();
+    for (WaitlistEntryEntity entry : head) {
+      BookingEntity booking = new BookingEntity();
+      booking.setStatus(BookingStatus.PENDING);
+      booking.setUser(entry.getUser());
+      booking.setTravel(travel);
+      dashboardService.bookingAdded(bookingRepository.save(booking));
+    }
+    waitlistRepository.deleteAll(head);
+    travelCacheInvalidator.invalidate(travelId);
+    return head.size();
+  }
+
+  private void schedule(Long travelId) {
+    if (!scheduled.add(travelId)) {
+      return;
+    }
+    try {
+      promotions.execute(() -> {
+        // Se quita antes de empezar: un aviso durante la pasada encola otra
+        scheduled.remove(travelId);
+        try {
+          promote(travelId);
+        } catch (RuntimeException e) {
+          log.warn("Waitlist promotion failed for travel {}; the next sweep retries it", travelId, e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // Apagando: el barrido del siguiente arranque lo recupera
+      scheduled.remove(travelId);
+    }
+  }
+
+  private WaitlistEntryEntity findEntry(Long travelId, Long userId) {
+    return waitlistRepository.findByTravelAndUser(travelId, userId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+            "User " + userId + " is not on the waitlist for travel " + travelId));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    promotions.shutdown();
+  }
+}
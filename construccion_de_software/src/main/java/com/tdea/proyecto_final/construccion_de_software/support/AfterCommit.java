@@ -0,0 +1,28 @@
+package com.tdea.proyecto_final.construccion_de_software.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ejecuta un efecto fuera de la base (índices en memoria, cachés, tareas en
+ * segundo plano) cuando la transacción en curso se confirma, o de inmediato si
+ * no hay una activa; si se revierte, el efecto se descarta con ella.
+ */
+public final class AfterCommit {
+
+  private AfterCommit() {
+  }
+
+  public static void run(Runnable change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      change.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        change.run();
+      }
+    });
+  }
+}
@@ -10,11 +10,19 @@ const API = {
   async request(endpoint, options = {}) {
     const url = `${CONFIG.API_BASE_URL}${endpoint}`;
 
+    const headers = {
+      "Content-Type": "application/json",
+    };
+
+    // Token de la sesión actual; el servidor lo valida sin consultar la base
+    const session = AppState.getUser();
+    if (session && session.token) {
+      headers.Authorization = `Bearer ${session.token}`;
+    }
+
     const defaultOptions = {
       method: "GET",
-      headers: {
-        "Content-Type": "application/json",
-      },
+      headers,
     };
 
     const finalOptions = { ...defaultOptions, ...options };
@@ -25,6 +33,12 @@ const API = {
       const response = await fetch(url, finalOptions);
       const data = await response.json();
 
+      if (response.status === 401 && session && session.token) {
+        // Token vencido o inválido: se cierra la sesión local
+        AppState.setUser(null);
+        updateNavigation();
+      }
+
       if (!response.ok) {
         throw new Error(
           data.message || `Error ${response.status}: ${response.statusText}`
@@ -107,18 +121,18 @@ const AuthAPI = {
    * Inicia sesión
    * @param {string} username - Nombre de usuario
    * @param {string} password - Contraseña
-   * @returns {Promise} Usuario autenticado
+   * @returns {Promise} Sesión con el token y los datos del usuario
    */
   async login(username, password) {
     try {
-      const user = await API.post(CONFIG.ENDPOINTS.AUTH.LOGIN, {
+      const session = await API.post(CONFIG.ENDPOINTS.AUTH.LOGIN, {
         username,
         password,
       });
 
-      AppState.setUser(user);
+      AppState.setUser(session);
       Toast.success("¡Sesión iniciada correctamente!");
-      return user;
+      return session;
     } catch (error) {
       Toast.error("Credenciales incorrectas");
       throw error;
@@ -446,7 +460,88 @@ const PaymentAPI = {
 
 // Exportar APIs para uso global
 window.API = API;
+/**
+ * Totales calculados en el servidor
+ */
+const DashboardAPI = {
+  /**
+   * Reservas por estado, ingresos por método, día y destino y saldo pendiente
+   * @returns {Promise} Totales del dashboard
+   */
+  async get() {
+    return API.get(CONFIG.ENDPOINTS.DASHBOARD);
+  },
+};
+
+/**
+ * Sugerencias para los filtros mientras se escribe
+ */
+const SuggestAPI = {
+  /**
+   * Valores que empiezan por el texto. Se llama en cada tecla, así que no
+   * muestra el indicador de carga ni avisos: ante un error devuelve []
+   * @param {string} field - "destination" o "email"
+   * @param {string} q - Texto escrito
+   * @param {number} limit - Máximo de sugerencias
+   * @returns {Promise<string[]>} Valores sugeridos
+   */
+  async suggest(field, q, limit = 10) {
+    const params = new URLSearchParams({ field, q, limit });
+    const headers = {};
+    const session = AppState.getUser();
+    if (session && session.token) {
+      headers.Authorization = `Bearer ${session.token}`;
+    }
+    try {
+      const response = await fetch(
+        `${CONFIG.API_BASE_URL}${CONFIG.ENDPOINTS.SUGGEST}?${params.toString()}`,
+        { headers }
+      );
+      return response.ok ? await response.json() : [];
+    } catch (error) {
+      return [];
+    }
+  },
+};
+
+const WaitlistAPI = {
+  /**
+   * Pone al usuario en la lista de espera de un viaje agotado
+   * @param {number} travelId - ID del viaje
+   * @param {number} userId - ID del usuario
+   * @returns {Promise} Puesto en la fila ({ travelId, userId, position })
+   */
+  async join(travelId, userId) {
+    const endpoint = CONFIG.ENDPOINTS.TRAVELS.WAITLIST.replace(":id", travelId);
+    return await API.post(endpoint, { userId });
+  },
+
+  /**
+   * Puesto actual del usuario en la fila
+   * @param {number} travelId - ID del viaje
+   * @param {number} userId - ID del usuario
+   * @returns {Promise} Puesto en la fila
+   */
+  async position(travelId, userId) {
+    const endpoint = CONFIG.ENDPOINTS.TRAVELS.WAITLIST.replace(":id", travelId);
+    return await API.get(`${endpoint}/${userId}`);
+  },
+
+  /**
+   * Sale de la lista de espera
+   * @param {number} travelId - ID del viaje
+   * @param {number} userId - ID del usuario
+   */
+  async leave(travelId, userId) {
+    const endpoint = CONFIG.ENDPOINTS.TRAVELS.WAITLIST.replace(":id", travelId);
+    return await API.delete(`${endpoint}/${userId}`);
+  },
+};
+
 window.AuthAPI = AuthAPI;
+window.SuggestAPI = SuggestAPI;
+window.DashboardAPI = DashboardAPI;
 window.TravelAPI = TravelAPI;
 window.BookingAPI = BookingAPI;
+window.WaitlistAPI = WaitlistAPI;
 window.PaymentAPI = PaymentAPI;
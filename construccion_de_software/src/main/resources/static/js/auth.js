@@ -181,6 +181,11 @@ function logout() {
  */
 function checkSession() {
     const user = AppState.getUser();
+    if (user && (!user.token || new Date(user.expiresAt) <= new Date())) {
+        // Sesión guardada sin token o con el token vencido
+        AppState.setUser(null);
+        return;
+    }
     if (user) {
         updateNavigation();
         
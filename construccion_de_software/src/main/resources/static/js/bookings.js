@@ -761,6 +761,8 @@ function initEditBookingForm() {
 function initBookings() {
   initBookingForm();
   initEditBookingForm();
+  attachSuggestions("booking-user-filter", "email");
+  attachSuggestions("booking-destination-filter", "destination");
 }
 
 // Exportar funciones para uso global
@@ -13,6 +13,7 @@ const CONFIG = {
       BASE: "/travels",
       CREATE: "/travels/create",
       DELETE: "/travels/delete",
+      WAITLIST: "/travels/:id/waitlist",
     },
     BOOKINGS: {
       BASE: "/bookings",
@@ -25,6 +26,8 @@ const CONFIG = {
       BASE: "/payments",
       SUMMARY: "/payments/booking/:bookingId/summary",
     },
+    DASHBOARD: "/dashboard",
+    SUGGEST: "/suggest",
   },
 
   // Configuración de la aplicación
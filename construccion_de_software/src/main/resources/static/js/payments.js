@@ -224,32 +224,39 @@ function displayAdminPayments(payments) {
   }
 
   list.innerHTML = `
-        <div class="payments-stats">
-            ${generatePaymentStats(payments)}
-        </div>
+        <div class="payments-stats" id="admin-payments-stats"></div>
         <div class="payments-table">
             ${payments.map((payment) => createPaymentCard(payment)).join("")}
         </div>
     `;
+  loadPaymentStats();
+}
+
+/**
+ * Carga las estadísticas de pagos desde el dashboard del servidor, que no
+ * depende de cuántos pagos haya
+ */
+async function loadPaymentStats() {
+  const container = document.getElementById("admin-payments-stats");
+  if (!container) return;
+
+  try {
+    const dashboard = await DashboardAPI.get();
+    container.innerHTML = generatePaymentStats(dashboard);
+  } catch (error) {
+    console.error("Error al cargar estadísticas:", error);
+  }
 }
 
 /**
  * Genera estadísticas de pagos
- * @param {Array} payments - Lista de pagos
+ * @param {Object} dashboard - Totales devueltos por /api/dashboard
  * @returns {string} HTML de las estadísticas
  */
-function generatePaymentStats(payments) {
-  const totalAmount = payments.reduce(
-    (sum, payment) => sum + (payment.amount || 0),
-    0
-  );
-  const totalPayments = payments.length;
-  const paymentMethods = {};
-
-  payments.forEach((payment) => {
-    const method = payment.paymentMethod || "Desconocido";
-    paymentMethods[method] = (paymentMethods[method] || 0) + 1;
-  });
+function generatePaymentStats(dashboard) {
+  const byMethod = dashboard.revenueByPaymentMethod || [];
+  const totalAmount = byMethod.reduce((sum, total) => sum + total.amount, 0);
+  const totalPayments = byMethod.reduce((sum, total) => sum + total.payments, 0);
 
   return `
         <div class="stats-grid">
@@ -267,6 +274,12 @@ function generatePaymentStats(payments) {
                 )}</div>
                 <div class="stat-label">Promedio por Pago</div>
             </div>
+            <div class="stat-card">
+                <div class="stat-value">${formatCurrency(
+                  dashboard.outstandingBalance || 0
+                )}</div>
+                <div class="stat-label">Saldo Pendiente</div>
+            </div>
         </div>
     `;
 }
@@ -340,6 +353,7 @@ function getPaymentMethodText(method) {
  */
 function initPayments() {
   initPaymentForm();
+  attachSuggestions("payment-user-filter", "email");
 }
 
 /**
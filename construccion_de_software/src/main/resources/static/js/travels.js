@@ -47,6 +47,7 @@ function displayTravels(travels) {
 function createTravelCard(travel) {
   const isLoggedIn = AppState.isLoggedIn();
   const isAdmin = AppState.isAdmin();
+  const soldOut = travel.capacity != null && travel.remainingSeats === 0;
 
   return `
         <div class="travel-card">
@@ -61,6 +62,11 @@ function createTravelCard(travel) {
             </div>
             <div class="travel-card-body">
                 <div class="travel-price">${formatCurrency(travel.price)}</div>
+                ${
+                  travel.capacity != null
+                    ? `<div class="travel-seats">${travel.remainingSeats} de ${travel.capacity} cupos libres</div>`
+                    : ""
+                }
                 <div class="travel-itinerary">${escapeHtml(
                   travel.itinerary || "Itinerario no disponible"
                 )}</div>
@@ -72,7 +78,7 @@ function createTravelCard(travel) {
                         Ver Detalles
                     </button>
                     ${
-                      isLoggedIn && !isAdmin
+                      isLoggedIn && !isAdmin && !soldOut
                         ? `
                         <button class="primary-button" onclick="showBookingModal(${travel.id})">
                             <i class="fas fa-ticket-alt"></i>
@@ -81,6 +87,16 @@ function createTravelCard(travel) {
                     `
                         : ""
                     }
+                    ${
+                      isLoggedIn && !isAdmin && soldOut
+                        ? `
+                        <button class="primary-button" onclick="joinWaitlist(${travel.id})">
+                            <i class="fas fa-user-clock"></i>
+                            Lista de espera
+                        </button>
+                    `
+                        : ""
+                    }
                     ${
                       isAdmin
                         ? `
@@ -243,6 +259,21 @@ async function deleteTravel(travelId) {
   }
 }
 
+/**
+ * Pone al usuario en la lista de espera de un viaje agotado. Cuando se libere
+ * un cupo la reserva se crea sola, en estado pendiente
+ * @param {number} travelId - ID del viaje
+ */
+async function joinWaitlist(travelId) {
+  const user = AppState.getUser();
+  try {
+    const { position } = await WaitlistAPI.join(travelId, user.id);
+    Toast.success(`Estás en el puesto ${position} de la lista de espera`);
+  } catch (error) {
+    Toast.error(error.message || "No se pudo entrar a la lista de espera");
+  }
+}
+
 /**
  * Carga los viajes para la vista de administrador
  */
@@ -345,6 +376,7 @@ function initCreateTravelForm() {
       departureDate: formData.get("departureDate"),
       returnDate: formData.get("returnDate"),
       price: parseFloat(formData.get("price")),
+      capacity: formData.get("capacity") ? parseInt(formData.get("capacity")) : null,
       itinerary: formData.get("itinerary"),
     };
 
@@ -394,6 +426,8 @@ async function showEditTravelModal(travelId) {
       travel.departureDate;
     document.getElementById("edit-travel-return").value = travel.returnDate;
     document.getElementById("edit-travel-price").value = travel.price;
+    document.getElementById("edit-travel-capacity").value =
+      travel.capacity ?? "";
     document.getElementById("edit-travel-itinerary").value =
       travel.itinerary || "";
 
@@ -430,6 +464,7 @@ function initEditTravelForm() {
       departureDate: formData.get("departureDate"),
       returnDate: formData.get("returnDate"),
       price: parseFloat(formData.get("price")),
+      capacity: formData.get("capacity") ? parseInt(formData.get("capacity")) : null,
       itinerary: formData.get("itinerary"),
     };
 
@@ -512,6 +547,7 @@ window.loadTravels = loadTravels;
 window.showTravelDetails = showTravelDetails;
 window.showEditTravelModal = showEditTravelModal;
 window.deleteTravel = deleteTravel;
+window.joinWaitlist = joinWaitlist;
 window.loadAdminTravels = loadAdminTravels;
 window.showCreateTravelModal = showCreateTravelModal;
 window.applyTravelFilters = applyTravelFilters;
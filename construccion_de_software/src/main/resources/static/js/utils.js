@@ -120,6 +120,28 @@ function debounce(func, wait) {
     };
 }
 
+/**
+ * Llena el datalist de un campo con las sugerencias del servidor mientras se
+ * escribe, para que el filtro reciba un valor exacto
+ * @param {string} inputId - Id del input, que debe tener list="<id>-options"
+ * @param {string} field - Campo sugerido: "destination" o "email"
+ */
+function attachSuggestions(inputId, field) {
+    const input = document.getElementById(inputId);
+    const datalist = document.getElementById(`${inputId}-options`);
+    if (!input || !datalist) return;
+
+    input.addEventListener("input", debounce(async () => {
+        const q = input.value.trim();
+        const values = q ? await SuggestAPI.suggest(field, q) : [];
+        datalist.replaceChildren(...values.map((value) => {
+            const option = document.createElement("option");
+            option.value = value;
+            return option;
+        }));
+    }, 150));
+}
+
 /**
  * Manejo del estado de carga
  */
@@ -340,6 +362,7 @@ window.validatePassword = validatePassword;
 window.escapeHtml = escapeHtml;
 window.generateId = generateId;
 window.debounce = debounce;
+window.attachSuggestions = attachSuggestions;
 window.LoadingManager = LoadingManager;
 window.Toast = Toast;
 window.Modal = Modal;
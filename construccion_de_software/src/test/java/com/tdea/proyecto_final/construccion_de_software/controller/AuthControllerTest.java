@@ -0,0 +1,142 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.jayway.jsonpath.JsonPath;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void registeredUserCanLogIn() throws Exception {
+    register("viajero", "secret-password");
+
+    login("viajero", "secret-password")
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.username").value("viajero"));
+    login("viajero", "wrong-password").andExpect(status().isUnauthorized());
+
+    assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count())
+        .isPositive();
+    assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "verify").timer().count())
+        .isPositive();
+  }
+
+  @Test
+  void unknownUserIsRejectedLikeAWrongPasswordAndNotLookedUpAgain() throws Exception {
+    login("fantasma", "secret-password").andExpect(status().isUnauthorized());
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    login("fantasma", "secret-password").andExpect(status().isUnauthorized());
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    // Registrarlo lo saca de la caché de usuarios inexistentes
+    register("fantasma", "secret-password");
+    login("fantasma", "secret-password").andExpect(status().isOk());
+  }
+
+  @Test
+  void loginIssuesATokenThatAuthenticatesWithoutTouchingTheDatabase() throws Exception {
+    register("viajera", "secret-password");
+    String body = login("viajera", "secret-password")
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rol").value("CLIENT"))
+        .andExpect(jsonPath("$.password").doesNotExist())
+        .andReturn().getResponse().getContentAsString();
+    String token = JsonPath.read(body, "$.token");
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.username").value("viajera"))
+        .andExpect(jsonPath("$.rol").value("CLIENT"));
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/api/auth/me")).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void repeatedLoginsForOneUserAreThrottledBeforeAnyQuery() throws Exception {
+    register("acosado", "secret-password");
+    for (int i = 0; i < 5; i++) {
+      login("acosado", "wrong-password").andExpect(status().isUnauthorized());
+    }
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    login("acosado", "secret-password")
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(meterRegistry.get("rate.limiter.requests").tag("policy", "login-user").tag("result", "rejected")
+        .counter().count()).isPositive();
+  }
+
+  @Test
+  void caseAndWhitespaceVariantsOfAUsernameShareTheLoginBucket() throws Exception {
+    register("acosada", "secret-password");
+    for (String variant : new String[] { "acosada", "Acosada", "ACOSADA", " acosada", "aCoSaDa " }) {
+      login(variant, "wrong-password").andExpect(status().isUnauthorized());
+    }
+
+    login("AcOsAdA", "secret-password")
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+  }
+
+  private void register(String username, String password) throws Exception {
+    mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\",\"name\":\"Ana\","
+            + "\"surname\":\"Test\",\"email\":\"" + username + "@viajes.com\",\"rol\":\"CLIENT\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.password").doesNotExist());
+  }
+
+  private ResultActions login(String username, String password) throws Exception {
+    return mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+  }
+}
@@ -0,0 +1,133 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingImportTest {
+
+  private static final int ROWS = 1200;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  private Long userId;
+  private Long travelId;
+
+  @BeforeEach
+  void seed() {
+    UserEntity user = new UserEntity();
+    user.setUsername("grupo");
+    user.setPassword("secret-password");
+    user.setName("Grupo");
+    user.setSurname("Tour");
+    user.setEmail("grupo@viajes.com");
+    userId = userRepository.save(user).getId();
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("San Andrés");
+    travel.setDepartureDate(LocalDate.of(2025, 10, 1));
+    travel.setReturnDate(LocalDate.of(2025, 10, 6));
+    travel.setPrice(new BigDecimal("2000.00"));
+    travelId = travelRepository.save(travel).getId();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void ndjsonImportInsertsValidRowsInBatchesAndReportsTheRest() throws Exception {
+    StringBuilder body = new StringBuilder();
+    for (int i = 1; i <= ROWS; i++) {
+      if (i == 10) {
+        body.append("{\"userId\":").append(userId).append(",\"travelId\":").append(travelId)
+            .append(",\"status\":\"LOST\"}\n");
+      } else if (i == 600) {
+        body.append("{\"userId\":999999,\"travelId\":").append(travelId).append(",\"status\":\"PENDING\"}\n");
+      } else if (i == 1100) {
+        body.append("{not json\n");
+      } else {
+        body.append(row("PENDING")).append('\n');
+      }
+    }
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    mockMvc.perform(post("/api/bookings/import").contentType(MediaType.APPLICATION_NDJSON).content(body.toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.received").value(ROWS))
+        .andExpect(jsonPath("$.imported").value(ROWS - 3))
+        .andExpect(jsonPath("$.rejected").value(3))
+        .andExpect(jsonPath("$.errors[0].row").value(10))
+        .andExpect(jsonPath("$.errors[0].message").value("Invalid booking status: LOST"))
+        .andExpect(jsonPath("$.errors[1].row").value(600))
+        .andExpect(jsonPath("$.errors[1].message").value("User not found with id: 999999"))
+        .andExpect(jsonPath("$.errors[2].row").value(1100));
+
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class)).isEqualTo(ROWS - 3);
+    // Sin batching serían al menos ROWS inserts; con lotes de 50 y los IN por
+    // bloque el total queda muy por debajo
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(ROWS / 10);
+  }
+
+  @Test
+  void jsonArrayImportSkipsRowsWithWrongTypes() throws Exception {
+    String body = "[" + row("CONFIRMED") + ",{\"userId\":\"abc\",\"travelId\":1,\"status\":\"PENDING\"},"
+        + row("PAID") + "]";
+
+    mockMvc.perform(post("/api/bookings/import").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.received").value(3))
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.errors[0].row").value(2));
+
+    assertThat(jdbcTemplate.queryForList("SELECT status FROM bookings ORDER BY id", String.class))
+        .containsExactly("CONFIRMED", "PAID");
+  }
+
+  private String row(String status) {
+    return "{\"userId\":" + userId + ",\"travelId\":" + travelId + ",\"status\":\"" + status + "\"}";
+  }
+}
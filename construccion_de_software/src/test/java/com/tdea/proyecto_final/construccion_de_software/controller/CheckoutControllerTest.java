@@ -0,0 +1,122 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+import com.tdea.proyecto_final.construccion_de_software.service.ManageTravelsService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CheckoutControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ManageTravelsService manageTravelsService;
+
+  private Long userId;
+  private Long travelId;
+
+  @BeforeEach
+  void setUp() {
+    UserEntity user = new UserEntity();
+    user.setUsername("checkout");
+    user.setPassword("secret-password");
+    user.setName("Ana");
+    user.setSurname("Test");
+    user.setEmail("checkout@viajes.com");
+    userId = userRepository.save(user).getId();
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Santa Marta");
+    travel.setDepartureDate(LocalDate.of(2025, 7, 1));
+    travel.setReturnDate(LocalDate.of(2025, 7, 5));
+    travel.setPrice(new BigDecimal("1000.00"));
+    travel.setCapacity(1);
+    travelId = manageTravelsService.createTravel(travel).getId();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void createsTheBookingAndItsDepositTogether() throws Exception {
+    checkout("300.00")
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.booking.status").value("PENDING"))
+        .andExpect(jsonPath("$.booking.travel.id").value(travelId))
+        .andExpect(jsonPath("$.booking.payments", hasSize(1)))
+        .andExpect(jsonPath("$.payment.amount").value(300.00))
+        .andExpect(jsonPath("$.payment.paymentMethod").value("CREDIT_CARD"))
+        .andExpect(jsonPath("$.remainingBalance").value(700.00));
+
+    assertThat(count("SELECT COUNT(*) FROM payments")).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForObject("SELECT paid_amount FROM bookings", BigDecimal.class))
+        .isEqualByComparingTo("300.00");
+    assertThat(count("SELECT remaining_seats FROM travels")).isZero();
+
+    // Sin cupos la reserva responde 409 y no se cobra nada
+    checkout("300.00").andExpect(status().isConflict());
+    assertThat(count("SELECT COUNT(*) FROM payments")).isEqualTo(1);
+  }
+
+  @Test
+  void paymentForTheFullPriceLeavesTheBookingPaid() throws Exception {
+    checkout("1000.00")
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.booking.status").value("PAID"))
+        .andExpect(jsonPath("$.remainingBalance").value(0));
+  }
+
+  @Test
+  void anInvalidPaymentRollsBackTheBookingAndItsSeat() throws Exception {
+    checkout("1500.00")
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("PAYMENT_ERROR"));
+
+    assertThat(count("SELECT COUNT(*) FROM bookings")).isZero();
+    assertThat(count("SELECT remaining_seats FROM travels")).isEqualTo(1);
+  }
+
+  private ResultActions checkout(String amount) throws Exception {
+    String body = "{\"userId\":" + userId + ",\"travelId\":" + travelId + ",\"amount\":" + amount
+        + ",\"paymentMethod\":\"credit_card\"}";
+    return mockMvc.perform(post("/api/checkout").contentType(MediaType.APPLICATION_JSON).content(body));
+  }
+
+  private int count(String sql) {
+    return jdbcTemplate.queryForObject(sql, Integer.class);
+  }
+}
@@ -0,0 +1,193 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.dto.DashboardResponse;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentRequest;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+import com.tdea.proyecto_final.construccion_de_software.service.DashboardService;
+import com.tdea.proyecto_final.construccion_de_software.service.ManageBookingsService;
+import com.tdea.proyecto_final.construccion_de_software.service.ManagePaymentsService;
+import com.tdea.proyecto_final.construccion_de_software.service.ManageTravelsService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Los totales mantenidos por los servicios coinciden con los que se obtienen
+ * recalculando desde las tablas de reservas y pagos, y leerlos no depende del
+ * historial.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private ManageBookingsService manageBookingsService;
+
+  @Autowired
+  private ManagePaymentsService managePaymentsService;
+
+  @Autowired
+  private ManageTravelsService manageTravelsService;
+
+  @Autowired
+  private DashboardService dashboardService;
+
+  private Long userId;
+  private TravelEntity cartagena;
+  private TravelEntity bogota;
+
+  @BeforeEach
+  void seed() {
+    // Otras pruebas borran reservas con SQL directo, sin pasar por los servicios
+    clearTotals();
+    UserEntity user = new UserEntity();
+    user.setUsername("tablero");
+    user.setPassword("secret-password");
+    user.setName("Tablero");
+    user.setSurname("Test");
+    user.setEmail("tablero@viajes.com");
+    userId = userRepository.save(user).getId();
+
+    cartagena = travel("Cartagena", "1000.00");
+    bogota = travel("Bogotá", "400.00");
+  }
+
+  @AfterEach
+  void cleanUp() {
+    clearTotals();
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void totalsFollowBookingsAndPayments() throws Exception {
+    Long first = book(cartagena, "PENDING");
+    Long second = book(cartagena, "PENDING");
+    Long third = book(bogota, "PENDING");
+    Long fourth = book(bogota, "PENDING");
+
+    managePaymentsService.processPayment(new PaymentRequest(first, new BigDecimal("1000.00"), "CREDIT_CARD"));
+    managePaymentsService.processPayment(new PaymentRequest(second, new BigDecimal("300.00"), "cash"));
+    Long cancelled = managePaymentsService
+        .processPayment(new PaymentRequest(third, new BigDecimal("100.00"), "CASH")).getId();
+    managePaymentsService.cancelPayment(cancelled);
+    manageBookingsService.updateBookingStatus(third, "CANCELLED");
+    manageBookingsService.deleteBooking(fourth);
+
+    mockMvc.perform(get("/api/dashboard"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.bookingsByStatus[?(@.status == 'PAID')].bookings").value(1))
+        .andExpect(jsonPath("$.bookingsByStatus[?(@.status == 'PENDING')].amountPaid").value(300.0))
+        .andExpect(jsonPath("$.bookingsByStatus[?(@.status == 'CANCELLED')].bookings").value(1))
+        .andExpect(jsonPath("$.revenueByPaymentMethod[?(@.group == 'CASH')].amount").value(300.0))
+        .andExpect(jsonPath("$.revenueByPaymentMethod[?(@.group == 'CREDIT_CARD')].payments").value(1))
+        .andExpect(jsonPath("$.revenueByDay[0].date").value(LocalDate.now().toString()))
+        .andExpect(jsonPath("$.revenueByDay[0].amount").value(1300.0))
+        .andExpect(jsonPath("$.revenueByDestination.length()").value(1))
+        // Las canceladas no se cobran: solo quedan los 700 de la reserva pendiente
+        .andExpect(jsonPath("$.outstandingBalance").value(700.0));
+
+    // El precio nuevo se aplica a las reservas existentes del viaje
+    TravelEntity update = new TravelEntity();
+    update.setDestination("Cartagena");
+    update.setDepartureDate(cartagena.getDepartureDate());
+    update.setReturnDate(cartagena.getReturnDate());
+    update.setPrice(new BigDecimal("1200.00"));
+    manageTravelsService.updateTravel(cartagena.getId(), update);
+
+    assertMatchesRebuild();
+  }
+
+  @Test
+  void dashboardCostsOneQueryPerGroupingRegardlessOfHistory() throws Exception {
+    for (int i = 0; i < 20; i++) {
+      Long booking = book(i % 2 == 0 ? cartagena : bogota, "PENDING");
+      managePaymentsService.processPayment(new PaymentRequest(booking, new BigDecimal("50.00"), "CREDIT_CARD"));
+    }
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    mockMvc.perform(get("/api/dashboard").param("from", "2020-01-01"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.revenueByPaymentMethod[0].payments").value(20));
+    // Las consultas van por JdbcTemplate: ninguna sobre las tablas de historial
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    assertMatchesRebuild();
+  }
+
+  @Test
+  void invertedRangeIsRejected() throws Exception {
+    mockMvc.perform(get("/api/dashboard").param("from", "2025-02-01").param("to", "2025-01-01"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private void assertMatchesRebuild() {
+    LocalDate from = LocalDate.now().minusDays(5);
+    DashboardResponse incremental = dashboardService.getDashboard(from, null);
+    clearTotals();
+    dashboardService.initialize();
+    DashboardResponse rebuilt = dashboardService.getDashboard(from, null);
+
+    assertThat(incremental).usingRecursiveComparison()
+        .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+        .isEqualTo(rebuilt);
+  }
+
+  private void clearTotals() {
+    jdbcTemplate.update("DELETE FROM booking_status_totals");
+    jdbcTemplate.update("DELETE FROM payment_daily_totals");
+  }
+
+  private Long book(TravelEntity travel, String status) {
+    return manageBookingsService.createBooking(new BookingRequest(status, userId, travel.getId())).getId();
+  }
+
+  private TravelEntity travel(String destination, String price) {
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination(destination);
+    travel.setDepartureDate(LocalDate.of(2025, 6, 10));
+    travel.setReturnDate(LocalDate.of(2025, 6, 15));
+    travel.setPrice(new BigDecimal(price));
+    return travelRepository.save(travel);
+  }
+}
@@ -0,0 +1,183 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.PaymentRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Presupuesto máximo de sentencias SQL por endpoint de lectura. Con varios
+ * usuarios, viajes, reservas y pagos, cualquier carga perezosa por fila (N+1)
+ * hace que el conteo supere el presupuesto y el build falle.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+
+  private static final int USERS = 4;
+  private static final int TRAVELS = 3;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private PaymentRepository paymentRepository;
+
+  private Statistics statistics;
+  private Long userId;
+  private Long travelId;
+  private Long bookingId;
+  private Long paymentId;
+
+  @BeforeEach
+  void seed() {
+    TravelEntity[] travels = new TravelEntity[TRAVELS];
+    for (int t = 0; t < TRAVELS; t++) {
+      TravelEntity travel = new TravelEntity();
+      travel.setDestination("Destino " + t);
+      travel.setDepartureDate(LocalDate.of(2025, 3, 1 + t));
+      travel.setReturnDate(LocalDate.of(2025, 3, 10 + t));
+      travel.setPrice(new BigDecimal("5000.00"));
+      travels[t] = travelRepository.save(travel);
+    }
+
+    for (int u = 0; u < USERS; u++) {
+      UserEntity user = new UserEntity();
+      user.setUsername("user" + u);
+      user.setPassword("secret-password");
+      user.setName("Nombre" + u);
+      user.setSurname("Apellido" + u);
+      user.setEmail("user" + u + "@viajes.com");
+      user = userRepository.save(user);
+
+      for (TravelEntity travel : travels) {
+        BookingEntity booking = new BookingEntity();
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setUser(user);
+        booking.setTravel(travel);
+        booking = bookingRepository.save(booking);
+
+        for (int p = 0; p < 2; p++) {
+          PaymentEntity payment = new PaymentEntity();
+          payment.setAmount(new BigDecimal("100.00"));
+          payment.setPaymentDate(LocalDate.now());
+          payment.setPaymentMethod("CREDIT_CARD");
+          payment.setBooking(booking);
+          paymentId = paymentRepository.save(payment).getId();
+        }
+        bookingId = booking.getId();
+      }
+      userId = user.getId();
+    }
+    travelId = travels[0].getId();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    // Se mide el acceso a la base de datos, no la caché del catálogo
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void bookingEndpoints() throws Exception {
+    assertStatementsAtMost(1, get("/api/bookings"));
+    assertStatementsAtMost(1, get("/api/bookings/filter").param("status", "PENDING"));
+    assertStatementsAtMost(1, get("/api/bookings/user/{userId}", userId));
+    assertStatementsAtMost(1, get("/api/bookings/{id}", bookingId));
+  }
+
+  @Test
+  void travelEndpoints() throws Exception {
+    assertStatementsAtMost(1, get("/api/travels"));
+    assertStatementsAtMost(1, get("/api/travels/{id}", travelId));
+    assertStatementsAtMost(1, get("/api/travels").param("size", "10").param("includeBookings", "false"));
+  }
+
+  @Test
+  void travelListingWithoutBookingsDoesNotJoinBookingsOrUsers() throws Exception {
+    statistics.clear();
+    mockMvc.perform(get("/api/travels").param("includeBookings", "false")).andExpect(status().isOk());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityStatistics(TravelEntity.class.getName()).getLoadCount()).isEqualTo(TRAVELS);
+    assertThat(statistics.getEntityStatistics(BookingEntity.class.getName()).getLoadCount()).isZero();
+    assertThat(statistics.getEntityStatistics(UserEntity.class.getName()).getLoadCount()).isZero();
+    assertThat(statistics.getCollectionLoadCount()).isZero();
+  }
+
+  @Test
+  void travelFilterLoadsBookingsInBatches() throws Exception {
+    // viajes + reservas por lotes + usuarios por lotes
+    assertStatementsAtMost(3, get("/api/travels/filter").param("destination", "destino"));
+  }
+
+  @Test
+  void paymentEndpoints() throws Exception {
+    assertStatementsAtMost(1, get("/api/payments"));
+    assertStatementsAtMost(1, get("/api/payments/filter").param("paymentMethod", "CREDIT_CARD"));
+    assertStatementsAtMost(1, get("/api/payments/filter").param("paymentMethod", "CREDIT_CARD").param("size", "10"));
+    assertStatementsAtMost(1, get("/api/payments/user/{userId}", userId));
+    assertStatementsAtMost(1, get("/api/payments/{id}", paymentId));
+    assertStatementsAtMost(2, get("/api/payments/booking/{bookingId}", bookingId));
+    assertStatementsAtMost(2, get("/api/payments/booking/{bookingId}/summary", bookingId));
+  }
+
+  private void assertStatementsAtMost(int budget, RequestBuilder request) throws Exception {
+    statistics.clear();
+    mockMvc.perform(request).andExpect(status().isOk());
+    assertThat(statistics.getPrepareStatementCount())
+        .as("SQL statements for %s", request)
+        .isLessThanOrEqualTo(budget);
+  }
+}
@@ -0,0 +1,164 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentRequest;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+import com.tdea.proyecto_final.construccion_de_software.service.ManageBookingsService;
+import com.tdea.proyecto_final.construccion_de_software.service.ManagePaymentsService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private ManageBookingsService manageBookingsService;
+
+  @Autowired
+  private ManagePaymentsService managePaymentsService;
+
+  private Long bookingId;
+
+  @BeforeEach
+  void seed() {
+    UserEntity user = new UserEntity();
+    user.setUsername("finanzas");
+    user.setPassword("secret-password");
+    user.setName("Ana \"Fin\"");
+    user.setSurname("Export");
+    user.setEmail("finanzas@viajes.com");
+    Long userId = userRepository.save(user).getId();
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Cartagena, Bolívar");
+    travel.setDepartureDate(LocalDate.of(2025, 6, 10));
+    travel.setReturnDate(LocalDate.of(2025, 6, 15));
+    travel.setPrice(new BigDecimal("1000.00"));
+    Long travelId = travelRepository.save(travel).getId();
+
+    bookingId = manageBookingsService.createBooking(new BookingRequest("PENDING", userId, travelId)).getId();
+    payOn(LocalDate.of(2025, 1, 31), "100.00");
+    payOn(LocalDate.of(2025, 2, 1), "200.50");
+    payOn(LocalDate.of(2025, 2, 28), "300.00");
+    payOn(LocalDate.of(2025, 3, 1), "50.00");
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM booking_status_totals");
+    jdbcTemplate.update("DELETE FROM payment_daily_totals");
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void paymentCsvAppliesTheDateRangeAndQuotesFields() throws Exception {
+    MvcResult result = export(get("/api/payments/export").param("from", "2025-02-01").param("to", "2025-02-28"));
+
+    assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+    assertThat(result.getResponse().getHeader("Content-Disposition")).contains("payments.csv");
+    String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+    assertThat(lines).hasSize(3);
+    assertThat(lines[0]).isEqualTo("id,amount,paymentDate,paymentMethod,bookingId,userId,userEmail,"
+        + "userFirstName,userLastName,travelId,travelDestination,travelDepartureDate,travelReturnDate");
+    assertThat(lines[1]).contains(",200.50,2025-02-01,CASH," + bookingId + ",")
+        .contains(",\"Ana \"\"Fin\"\"\",Export,")
+        .endsWith(",\"Cartagena, Bolívar\",2025-06-10,2025-06-15");
+    assertThat(lines[2]).contains(",300.00,2025-02-28,");
+  }
+
+  @Test
+  void paymentNdjsonWritesOneObjectPerLine() throws Exception {
+    MvcResult result = export(get("/api/payments/export").param("format", "ndjson").param("from", "2025-02-01"));
+
+    assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+    String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    assertThat(body).endsWith("\n");
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(3);
+    JsonNode first = objectMapper.readTree(lines[0]);
+    assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("200.50");
+    assertThat(first.get("userEmail").asText()).isEqualTo("finanzas@viajes.com");
+    assertThat(first.get("travelDestination").asText()).isEqualTo("Cartagena, Bolívar");
+    assertThat(objectMapper.readTree(lines[2]).get("paymentDate").asText()).isEqualTo("2025-03-01");
+  }
+
+  @Test
+  void bookingExportFiltersByDepartureDate() throws Exception {
+    MvcResult inRange = export(get("/api/bookings/export").param("from", "2025-06-01").param("to", "2025-06-30"));
+    String[] lines = inRange.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+    assertThat(lines).hasSize(2);
+    assertThat(lines[1]).startsWith(bookingId + ",PENDING,650.50,");
+
+    MvcResult outOfRange = export(get("/api/bookings/export").param("from", "2025-07-01"));
+    assertThat(outOfRange.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n")).hasSize(1);
+  }
+
+  @Test
+  void invalidParametersAreRejectedBeforeStreaming() throws Exception {
+    mockMvc.perform(get("/api/payments/export").param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(header().doesNotExist("Content-Disposition"));
+    mockMvc.perform(get("/api/bookings/export").param("from", "2025-02-01").param("to", "2025-01-01"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private MvcResult export(MockHttpServletRequestBuilder request) throws Exception {
+    MvcResult started = mockMvc.perform(request)
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    return mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andReturn();
+  }
+
+  private void payOn(LocalDate date, String amount) {
+    Long paymentId = managePaymentsService.processPayment(new PaymentRequest(bookingId, new BigDecimal(amount),
+        "CASH")).getId();
+    jdbcTemplate.update("UPDATE payments SET payment_date = ? WHERE id = ?", Date.valueOf(date), paymentId);
+  }
+}
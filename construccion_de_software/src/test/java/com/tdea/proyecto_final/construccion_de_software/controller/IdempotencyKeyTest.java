@@ -0,0 +1,154 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+import com.tdea.proyecto_final.construccion_de_software.service.IdempotencyService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyKeyTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  private Long userId;
+  private Long travelId;
+  private Long bookingId;
+
+  @BeforeEach
+  void seed() {
+    UserEntity user = new UserEntity();
+    user.setUsername("idem");
+    user.setPassword("secret-password");
+    user.setName("Idem");
+    user.setSurname("Potente");
+    user.setEmail("idem@viajes.com");
+    userId = userRepository.save(user).getId();
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Santa Marta");
+    travel.setDepartureDate(LocalDate.of(2025, 9, 1));
+    travel.setReturnDate(LocalDate.of(2025, 9, 8));
+    travel.setPrice(new BigDecimal("1000.00"));
+    travelId = travelRepository.save(travel).getId();
+
+    BookingEntity booking = new BookingEntity();
+    booking.setStatus(BookingStatus.PENDING);
+    booking.setUser(user);
+    booking.setTravel(travel);
+    bookingId = bookingRepository.save(booking).getId();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM idempotency_keys");
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void retriedPaymentIsReplayedWithoutChargingTwice() throws Exception {
+    String body = paymentBody("300.00");
+
+    String first = mockMvc.perform(post("/api/payments").header(IdempotencyService.HEADER, "pay-1")
+        .contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+
+    String second = mockMvc.perform(post("/api/payments").header(IdempotencyService.HEADER, "pay-1")
+        .contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isCreated())
+        .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+        .andReturn().getResponse().getContentAsString();
+
+    assertThat(second).isEqualTo(first);
+    assertThat(count("SELECT COUNT(*) FROM payments")).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForObject("SELECT paid_amount FROM bookings WHERE id = ?", BigDecimal.class,
+        bookingId)).isEqualByComparingTo("300.00");
+  }
+
+  @Test
+  void reusingAKeyWithADifferentBodyIsRejected() throws Exception {
+    mockMvc.perform(post("/api/payments").header(IdempotencyService.HEADER, "pay-2")
+        .contentType(MediaType.APPLICATION_JSON).content(paymentBody("100.00")))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(post("/api/payments").header(IdempotencyService.HEADER, "pay-2")
+        .contentType(MediaType.APPLICATION_JSON).content(paymentBody("200.00")))
+        .andExpect(status().isUnprocessableEntity());
+
+    assertThat(count("SELECT COUNT(*) FROM payments")).isEqualTo(1);
+  }
+
+  @Test
+  void failedPaymentReleasesTheKey() throws Exception {
+    // Supera el precio del viaje: se rechaza y la clave queda libre para reintentar
+    mockMvc.perform(post("/api/payments").header(IdempotencyService.HEADER, "pay-3")
+        .contentType(MediaType.APPLICATION_JSON).content(paymentBody("5000.00")))
+        .andExpect(status().isBadRequest());
+
+    mockMvc.perform(post("/api/payments").header(IdempotencyService.HEADER, "pay-3")
+        .contentType(MediaType.APPLICATION_JSON).content(paymentBody("5000.00")))
+        .andExpect(status().isBadRequest());
+
+    assertThat(count("SELECT COUNT(*) FROM idempotency_keys")).isZero();
+  }
+
+  @Test
+  void retriedBookingCreatesASingleRow() throws Exception {
+    String body = "{\"userId\":" + userId + ",\"travelId\":" + travelId + ",\"status\":\"PENDING\"}";
+
+    for (int i = 0; i < 3; i++) {
+      mockMvc.perform(post("/api/bookings/create").header(IdempotencyService.HEADER, "book-1")
+          .contentType(MediaType.APPLICATION_JSON).content(body))
+          .andExpect(status().isOk());
+    }
+
+    assertThat(count("SELECT COUNT(*) FROM bookings")).isEqualTo(2);
+  }
+
+  private String paymentBody(String amount) {
+    return "{\"bookingId\":" + bookingId + ",\"amount\":" + amount + ",\"paymentMethod\":\"CREDIT_CARD\"}";
+  }
+
+  private int count(String sql) {
+    return jdbcTemplate.queryForObject(sql, Integer.class);
+  }
+}
@@ -0,0 +1,172 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.search.SuggestionIndex;
+import com.tdea.proyecto_final.construccion_de_software.service.ManageBookingsService;
+import com.tdea.proyecto_final.construccion_de_software.service.ManageTravelsService;
+import com.tdea.proyecto_final.construccion_de_software.service.RegisterUserService;
+import com.tdea.proyecto_final.construccion_de_software.service.TokenService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SuggestControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private RegisterUserService registerUserService;
+
+  @Autowired
+  private ManageTravelsService manageTravelsService;
+
+  @Autowired
+  private ManageBookingsService manageBookingsService;
+
+  @Autowired
+  private SuggestionIndex suggestionIndex;
+
+  @Autowired
+  private TokenService tokenService;
+
+  private UserEntity admin;
+  private UserEntity ana;
+  private UserEntity mariana;
+
+  @BeforeEach
+  void setUp() {
+    admin = register("sugerencias", "sugerencias@viajes.com", "ADMIN");
+    ana = register("ana", "ana@viajes.com", "CLIENT");
+    mariana = register("mariana", "mariana@viajes.com", "CLIENT");
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+    // Los borrados por SQL directo solo se ven al recargar el índice
+    suggestionIndex.rebuild();
+  }
+
+  @Test
+  void destinationsAreSuggestedAsSoonAsTheTravelIsSaved() throws Exception {
+    Long medellin = travel("Medellín").getId();
+    travel("Medellín");
+    travel("Montería");
+
+    // Un destino compartido por dos viajes se sugiere una sola vez
+    mockMvc.perform(get("/api/suggest").param("field", "destination").param("q", "me"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0]").value("Medellín"));
+    mockMvc.perform(get("/api/suggest").param("field", "destination").param("q", "M").param("limit", "5"))
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[1]").value("Montería"));
+
+    manageTravelsService.deleteTravel(medellin);
+    mockMvc.perform(get("/api/suggest").param("field", "destination").param("q", "me"))
+        .andExpect(jsonPath("$[0]").value("Medellín"));
+
+    mockMvc.perform(get("/api/suggest").param("field", "ciudad").param("q", "me"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/suggest").param("field", "destination").param("q", "me").param("limit", "51"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void emailsAreOnlySuggestedToAnAdmin() throws Exception {
+    mockMvc.perform(get("/api/suggest").param("field", "email").param("q", "ana"))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/api/suggest").param("field", "email").param("q", "ana")
+        .header(HttpHeaders.AUTHORIZATION, bearer(ana)))
+        .andExpect(status().isForbidden());
+
+    mockMvc.perform(get("/api/suggest").param("field", "email").param("q", "ANA")
+        .header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0]").value("ana@viajes.com"));
+  }
+
+  @Test
+  void anExactEmailFiltersByUserInsteadOfBySubstring() throws Exception {
+    TravelEntity travel = travel("Pereira");
+    manageBookingsService.createBooking(new BookingRequest("PENDING", ana.getId(), travel.getId()));
+    manageBookingsService.createBooking(new BookingRequest("PENDING", mariana.getId(), travel.getId()));
+
+    // "ana@viajes.com" también está contenido en "mariana@viajes.com"
+    mockMvc.perform(get("/api/bookings/filter").param("userEmail", "Ana@Viajes.com"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)));
+    mockMvc.perform(get("/api/bookings/filter").param("userEmail", "na@viajes"))
+        .andExpect(jsonPath("$", hasSize(2)));
+  }
+
+  @Test
+  void anExactDestinationFiltersByEqualityInsteadOfBySubstring() throws Exception {
+    TravelEntity cali = travel("Cali");
+    TravelEntity calima = travel("Calima");
+    manageBookingsService.createBooking(new BookingRequest("PENDING", ana.getId(), cali.getId()));
+    manageBookingsService.createBooking(new BookingRequest("PENDING", ana.getId(), calima.getId()));
+
+    // "Cali" es un destino sugerido y también está contenido en "Calima"
+    mockMvc.perform(get("/api/travels/filter").param("destination", "CALI"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].id").value(cali.getId()));
+    mockMvc.perform(get("/api/bookings/filter").param("destination", "cali"))
+        .andExpect(jsonPath("$", hasSize(1)));
+    mockMvc.perform(get("/api/travels/filter").param("destination", "cal"))
+        .andExpect(jsonPath("$", hasSize(2)));
+    mockMvc.perform(get("/api/bookings/filter").param("destination", "cal"))
+        .andExpect(jsonPath("$", hasSize(2)));
+  }
+
+  private UserEntity register(String username, String email, String rol) {
+    UserEntity user = new UserEntity();
+    user.setUsername(username);
+    user.setPassword("secret-password");
+    user.setName(username);
+    user.setSurname("Test");
+    user.setEmail(email);
+    user.setRol(rol);
+    return registerUserService.register(user);
+  }
+
+  private TravelEntity travel(String destination) {
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination(destination);
+    travel.setDepartureDate(LocalDate.of(2025, 5, 1));
+    travel.setReturnDate(LocalDate.of(2025, 5, 8));
+    travel.setPrice(new BigDecimal("300.00"));
+    return manageTravelsService.createTravel(travel);
+  }
+
+  private String bearer(UserEntity user) {
+    return "Bearer " + tokenService.issue(user).token();
+  }
+}
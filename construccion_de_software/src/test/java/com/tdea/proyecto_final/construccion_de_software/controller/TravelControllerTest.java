@@ -0,0 +1,189 @@
+package com.tdea.proyecto_final.construccion_de_software.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.cache.TravelCacheInvalidator;
+import com.tdea.proyecto_final.construccion_de_software.config.CacheConfig;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.service.ManageTravelsService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TravelControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private ManageTravelsService manageTravelsService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private TravelCacheInvalidator travelCacheInvalidator;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  // El streaming usa su propia transacción, así que los datos deben quedar confirmados
+  private final List<Long> travelIds = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 1; i <= 5; i++) {
+      TravelEntity travel = new TravelEntity();
+      travel.setDestination("Destino " + i);
+      travel.setDepartureDate(LocalDate.of(2025, 1, i));
+      travel.setReturnDate(LocalDate.of(2025, 2, i));
+      travel.setPrice(new BigDecimal("100.00"));
+      travelIds.add(travelRepository.save(travel).getId());
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    travelIds.forEach(manageTravelsService::deleteTravel);
+  }
+
+  @Test
+  void pagedListingReturnsNextCursorUntilTheLastPage() throws Exception {
+    MvcResult first = mockMvc.perform(get("/api/travels").param("size", "3").param("includeBookings", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(3)))
+        .andExpect(jsonPath("$[0].bookings").doesNotExist())
+        .andExpect(header().exists("X-Next-Cursor"))
+        .andReturn();
+
+    String cursor = first.getResponse().getHeader("X-Next-Cursor");
+    mockMvc.perform(get("/api/travels").param("size", "3").param("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(header().doesNotExist("X-Next-Cursor"));
+  }
+
+  @Test
+  void destinationFilterReadsTheDatabaseRatherThanTheSearchIndex() throws Exception {
+    // Los viajes de setUp se guardan sin pasar por el servicio, así que el
+    // índice de búsqueda todavía no los conoce
+    mockMvc.perform(get("/api/travels/filter").param("destination", "destino 3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].destination").value("Destino 3"));
+  }
+
+  @Test
+  void travelByIdIsServedFromCacheUntilTheTravelChanges() throws Exception {
+    Long id = travelIds.get(0);
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    mockMvc.perform(get("/api/travels/{id}", id)).andExpect(status().isOk());
+    statistics.clear();
+    mockMvc.perform(get("/api/travels/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.destination").value("Destino 1"));
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    mockMvc.perform(put("/api/travels/update/{id}", id)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"destination\":\"San Andrés\",\"departureDate\":\"2025-01-01\","
+            + "\"returnDate\":\"2025-02-01\",\"price\":100.00}"))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/api/travels/{id}", id))
+        .andExpect(jsonPath("$.destination").value("San Andrés"));
+    mockMvc.perform(get("/api/travels").param("includeBookings", "false"))
+        .andExpect(jsonPath("$[?(@.id == " + id + ")].destination").value("San Andrés"));
+  }
+
+  @Test
+  void cachedTravelIsEvictedOnlyAfterTheTransactionCommits() throws Exception {
+    Long id = travelIds.get(0);
+    mockMvc.perform(get("/api/travels/{id}", id)).andExpect(status().isOk());
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      travelCacheInvalidator.invalidate(id);
+      // Mientras la transacción sigue abierta la entrada anterior se conserva
+      assertThat(cacheManager.getCache(CacheConfig.TRAVELS).get(id)).isNotNull();
+    });
+
+    assertThat(cacheManager.getCache(CacheConfig.TRAVELS).get(id)).isNull();
+  }
+
+  @Test
+  void destinationSearchUsesTheIndexMaintainedByTheService() throws Exception {
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Villa de Leyva");
+    travel.setDepartureDate(LocalDate.of(2025, 3, 1));
+    travel.setReturnDate(LocalDate.of(2025, 3, 5));
+    travel.setPrice(new BigDecimal("250.00"));
+    travel.setItinerary("Casa Terracota y Pozos Azules");
+    Long id = manageTravelsService.createTravel(travel).getId();
+    travelIds.add(id);
+
+    mockMvc.perform(get("/api/travels/search").param("q", "leiva"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(id))
+        .andExpect(jsonPath("$[0].destination").value("Villa de Leyva"));
+    mockMvc.perform(get("/api/travels/search").param("q", "terracota"))
+        .andExpect(jsonPath("$[0].id").value(id));
+    mockMvc.perform(get("/api/travels/filter").param("destination", "VILLA DE"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].id").value(id));
+
+    manageTravelsService.deleteTravel(id);
+    travelIds.remove(id);
+    mockMvc.perform(get("/api/travels/search").param("q", "leyva"))
+        .andExpect(jsonPath("$", hasSize(0)));
+  }
+
+  @Test
+  void streamWritesTheWholeCatalogueAsAJsonArray() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/travels/stream"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(5)))
+        .andExpect(jsonPath("$[4].destination").value("Destino 5"));
+  }
+}
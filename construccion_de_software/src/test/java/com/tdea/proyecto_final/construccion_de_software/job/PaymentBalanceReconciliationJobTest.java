@@ -0,0 +1,90 @@
+package com.tdea.proyecto_final.construccion_de_software.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.PaymentRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+@SpringBootTest
+class PaymentBalanceReconciliationJobTest {
+
+  @Autowired
+  private PaymentBalanceReconciliationJob job;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private PaymentRepository paymentRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void startupBackfillsAPaidAmountThatDoesNotMatchThePayments() {
+    UserEntity user = new UserEntity();
+    user.setUsername("saldo");
+    user.setPassword("secret-password");
+    user.setName("Ana");
+    user.setSurname("Test");
+    user.setEmail("saldo@viajes.com");
+    user = userRepository.save(user);
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Pasto");
+    travel.setDepartureDate(LocalDate.of(2025, 4, 1));
+    travel.setReturnDate(LocalDate.of(2025, 4, 4));
+    travel.setPrice(new BigDecimal("100.00"));
+    travel = travelRepository.save(travel);
+
+    // Como una base anterior a la columna: el pago existe y el saldo sigue en 0
+    BookingEntity booking = new BookingEntity();
+    booking.setStatus(BookingStatus.CONFIRMED);
+    booking.setUser(user);
+    booking.setTravel(travel);
+    booking = bookingRepository.save(booking);
+
+    PaymentEntity payment = new PaymentEntity();
+    payment.setAmount(new BigDecimal("40.00"));
+    payment.setPaymentDate(LocalDate.now());
+    payment.setPaymentMethod("CASH");
+    payment.setBooking(booking);
+    paymentRepository.save(payment);
+
+    // El mismo camino que ApplicationReadyEvent, llamado fuera del proxy
+    job.reconcileOnStartup();
+
+    assertThat(jdbcTemplate.queryForObject("SELECT paid_amount FROM bookings WHERE id = ?", BigDecimal.class,
+        booking.getId())).isEqualByComparingTo("40.00");
+  }
+}
@@ -0,0 +1,122 @@
+package com.tdea.proyecto_final.construccion_de_software.load;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.config.IdGeneratorMigration;
+import com.tdea.proyecto_final.construccion_de_software.entity.IdGenerators;
+
+/**
+ * Genera datos para las pruebas de carga con inserciones JDBC por lotes. Los
+ * ids empiezan por encima de los ya usados y al final se realinean los
+ * contadores de id_generators, igual que tras una migración.
+ */
+class LoadTestDataGenerator {
+
+  private static final int BATCH = 1000;
+  private static final String[] DESTINATIONS = { "Cartagena", "Medellín", "Bogotá", "San Andrés", "Santa Marta",
+      "Cali", "Leticia", "Pereira" };
+  private static final String[] STATUSES = { "PENDING", "CONFIRMED", "PAID", "CANCELLED" };
+  private static final String[] METHODS = { "CREDIT_CARD", "DEBIT_CARD", "BANK_TRANSFER", "CASH" };
+  private static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+
+  record Size(int users, int travels, int bookingsPerUser, int paymentsPerBooking) {
+  }
+
+  record Seeded(List<Long> userIds, List<Long> travelIds, List<Long> bookingIds) {
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IdGeneratorMigration idGeneratorMigration;
+  private final Random random = new Random(42);
+
+  LoadTestDataGenerator(JdbcTemplate jdbcTemplate, IdGeneratorMigration idGeneratorMigration) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.idGeneratorMigration = idGeneratorMigration;
+  }
+
+  Seeded seed(Size size) {
+    List<Long> userIds = new ArrayList<>();
+    List<Object[]> rows = new ArrayList<>();
+    long userId = firstFreeId("users");
+    for (int u = 0; u < size.users(); u++, userId++) {
+      userIds.add(userId);
+      rows.add(new Object[] { userId, "load" + userId, "hash", "CLIENT", "Nombre" + u, "Apellido" + u,
+          "load" + userId + "@viajes.com" });
+    }
+    insert("INSERT INTO users (id, username, password, rol, name, surname, email) VALUES (?, ?, ?, ?, ?, ?, ?)",
+        rows);
+
+    List<Long> travelIds = new ArrayList<>();
+    List<BigDecimal> prices = new ArrayList<>();
+    rows = new ArrayList<>();
+    long travelId = firstFreeId("travels");
+    for (int t = 0; t < size.travels(); t++, travelId++) {
+      LocalDate departure = BASE_DATE.plusDays(random.nextInt(365));
+      BigDecimal price = BigDecimal.valueOf(500_000 + random.nextInt(5_000_000), 2);
+      travelIds.add(travelId);
+      prices.add(price);
+      rows.add(new Object[] { travelId, DESTINATIONS[t % DESTINATIONS.length] + " " + t, Date.valueOf(departure),
+          Date.valueOf(departure.plusDays(5)), price, "ACTIVE" });
+    }
+    insert("INSERT INTO travels (id, destination, departure_date, return_date, price, status) "
+        + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+    List<Long> bookingIds = new ArrayList<>();
+    List<Object[]> bookingRows = new ArrayList<>();
+    List<Object[]> paymentRows = new ArrayList<>();
+    long bookingId = firstFreeId("bookings");
+    long paymentId = firstFreeId("payments");
+    for (Long user : userIds) {
+      for (int b = 0; b < size.bookingsPerUser(); b++, bookingId++) {
+        int travel = random.nextInt(travelIds.size());
+        BigDecimal installment = prices.get(travel).divide(BigDecimal.valueOf(size.paymentsPerBooking() + 1), 2,
+            RoundingMode.DOWN);
+        BigDecimal paid = BigDecimal.ZERO;
+        for (int p = 0; p < size.paymentsPerBooking(); p++, paymentId++) {
+          paymentRows.add(new Object[] { paymentId, installment, Date.valueOf(BASE_DATE.plusDays(random.nextInt(365))),
+              METHODS[random.nextInt(METHODS.length)], bookingId });
+          paid = paid.add(installment);
+        }
+        bookingIds.add(bookingId);
+        bookingRows.add(new Object[] { bookingId, STATUSES[random.nextInt(STATUSES.length)], paid, 0L, user,
+            travelIds.get(travel) });
+      }
+    }
+    insert("INSERT INTO bookings (id, status, paid_amount, version, user_id, travel_id) VALUES (?, ?, ?, ?, ?, ?)",
+        bookingRows);
+    insert("INSERT INTO payments (id, amount, payment_date, payment_method, booking_id) VALUES (?, ?, ?, ?, ?)",
+        paymentRows);
+
+    idGeneratorMigration.migrate();
+    return new Seeded(userIds, travelIds, bookingIds);
+  }
+
+  void clear() {
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  // Por encima tanto de las filas existentes como de los bloques ya reservados
+  private long firstFreeId(String table) {
+    long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+    List<Long> reserved = jdbcTemplate.queryForList("SELECT " + IdGenerators.VALUE_COLUMN + " FROM "
+        + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ?", Long.class, table);
+    return Math.max(maxId, reserved.isEmpty() ? 0 : reserved.get(0)) + 1;
+  }
+
+  private void insert(String sql, List<Object[]> rows) {
+    for (int from = 0; from < rows.size(); from += BATCH) {
+      jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH)));
+    }
+  }
+}
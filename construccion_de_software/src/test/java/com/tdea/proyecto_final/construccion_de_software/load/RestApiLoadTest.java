@@ -0,0 +1,213 @@
+package com.tdea.proyecto_final.construccion_de_software.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tdea.proyecto_final.construccion_de_software.config.IdGeneratorMigration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Prueba de carga de la API REST contra la aplicación completa sobre H2 en
+ * modo MySQL. No corre con {@code mvn test}; se ejecuta con
+ * {@code mvn -Pload-test test}. El tamaño de los datos y de la carga se ajusta
+ * con propiedades del sistema, por ejemplo
+ * {@code -Dload.users=2000 -Dload.requests=5000 -Dload.concurrency=64}.
+ *
+ * Por endpoint informa throughput, percentiles de latencia, sentencias SQL por
+ * petición (estadísticas de Hibernate), pico de heap y bytes asignados por
+ * petición. Cliente y servidor comparten la JVM, así que las cifras de memoria
+ * incluyen ambos lados. El reporte se escribe en el log y se guarda en
+ * target/load-test-report-&lt;modo&gt;.json para compararlo entre commits.
+ * VirtualThreadRestApiLoadTest repite la misma carga con hilos virtuales.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RestApiLoadTest {
+
+  private static final Logger log = LoggerFactory.getLogger(RestApiLoadTest.class);
+
+  private static final int USERS = Integer.getInteger("load.users", 500);
+  private static final int TRAVELS = Integer.getInteger("load.travels", 100);
+  private static final int BOOKINGS_PER_USER = Integer.getInteger("load.bookingsPerUser", 4);
+  private static final int PAYMENTS_PER_BOOKING = Integer.getInteger("load.paymentsPerBooking", 2);
+  private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+  private static final int REQUESTS = Integer.getInteger("load.requests", 1000);
+  private static final int WARMUP = Integer.getInteger("load.warmup", 200);
+
+  record EndpointReport(String endpoint, int requests, int errors, double throughputPerSecond, double p50Millis,
+      double p90Millis, double p99Millis, double maxMillis, double sqlStatementsPerRequest, long heapPeakBytes,
+      long allocatedBytesPerRequest) {
+  }
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private IdGeneratorMigration idGeneratorMigration;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+  private LoadTestDataGenerator generator;
+
+  @AfterEach
+  void cleanUp() {
+    generator.clear();
+  }
+
+  @Test
+  void restSurfaceUnderLoad() throws Exception {
+    generator = new LoadTestDataGenerator(jdbcTemplate, idGeneratorMigration);
+    LoadTestDataGenerator.Seeded seeded = generator.seed(
+        new LoadTestDataGenerator.Size(USERS, TRAVELS, BOOKINGS_PER_USER, PAYMENTS_PER_BOOKING));
+    List<Long> bookingIds = seeded.bookingIds();
+
+    List<EndpointReport> reports = List.of(
+        run("GET /api/travels", i -> "/api/travels"),
+        run("GET /api/bookings/filter", i -> "/api/bookings/filter?status=CONFIRMED"),
+        run("GET /api/payments", i -> "/api/payments"),
+        run("GET /api/payments/booking/{id}/summary",
+            i -> "/api/payments/booking/" + bookingIds.get(i % bookingIds.size()) + "/summary"));
+
+    logReport(reports);
+    File output = new File("target/load-test-report-" + mode() + ".json");
+    output.getParentFile().mkdirs();
+    objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, reports);
+
+    assertThat(reports).allSatisfy(report -> assertThat(report.errors()).as(report.endpoint()).isZero());
+  }
+
+  /**
+   * Nombre del modo de ejecución, para el reporte.
+   */
+  protected String mode() {
+    return "platform-threads";
+  }
+
+  private EndpointReport run(String endpoint, IntFunction<String> path) throws Exception {
+    execute(path, WARMUP);
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .toList();
+    heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+
+    long start = System.nanoTime();
+    Result result = execute(path, REQUESTS);
+    double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+    long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+    long heapPeak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    long[] latencies = result.latencies();
+    Arrays.sort(latencies);
+
+    return new EndpointReport(endpoint, REQUESTS, result.errors(), REQUESTS / elapsedSeconds,
+        percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+        latencies[latencies.length - 1] / 1_000_000.0,
+        (double) statistics.getPrepareStatementCount() / REQUESTS, heapPeak, allocated / REQUESTS);
+  }
+
+  private record Result(long[] latencies, int errors) {
+  }
+
+  private Result execute(IntFunction<String> path, int requests) throws Exception {
+    long[] latencies = new long[requests];
+    AtomicInteger next = new AtomicInteger();
+    AtomicInteger errors = new AtomicInteger();
+    ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int w = 0; w < CONCURRENCY; w++) {
+        futures.add(workers.submit(() -> {
+          for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path.apply(i)))
+                .GET().build();
+            long begin = System.nanoTime();
+            try {
+              HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+              if (response.statusCode() != 200) {
+                errors.incrementAndGet();
+              }
+            } catch (IOException | InterruptedException e) {
+              errors.incrementAndGet();
+            }
+            latencies[i] = System.nanoTime() - begin;
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      workers.shutdown();
+    }
+    return new Result(latencies, errors.get());
+  }
+
+  private static double percentile(long[] sorted, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1_000_000.0;
+  }
+
+  // La tabla se arma completa y se escribe en una sola entrada del log para
+  // que las filas no se intercalen con el log de la aplicación
+  private void logReport(List<EndpointReport> reports) {
+    StringBuilder table = new StringBuilder();
+    table.append(String.format("%-40s %9s %8s %8s %8s %8s %7s %10s %12s %6s", "endpoint", "req/s", "p50 ms",
+        "p90 ms", "p99 ms", "max ms", "sql/req", "heap MB", "alloc KB/req", "errors"));
+    for (EndpointReport r : reports) {
+      table.append(String.format("%n%-40s %9.1f %8.2f %8.2f %8.2f %8.2f %7.2f %10.1f %12.1f %6d", r.endpoint(),
+          r.throughputPerSecond(), r.p50Millis(), r.p90Millis(), r.p99Millis(), r.maxMillis(),
+          r.sqlStatementsPerRequest(), r.heapPeakBytes() / 1_048_576.0, r.allocatedBytesPerRequest() / 1024.0,
+          r.errors()));
+    }
+    log.info("Load test ({}): {} users, {} travels, {} bookings/user, {} payments/booking, "
+        + "{} requests per endpoint, concurrency {}{}{}", mode(), USERS, TRAVELS, BOOKINGS_PER_USER,
+        PAYMENTS_PER_BOOKING, REQUESTS, CONCURRENCY, System.lineSeparator(), table);
+  }
+}
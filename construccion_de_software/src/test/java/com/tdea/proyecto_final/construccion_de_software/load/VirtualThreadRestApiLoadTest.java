@@ -0,0 +1,18 @@
+package com.tdea.proyecto_final.construccion_de_software.load;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * La misma carga de RestApiLoadTest con el perfil virtual-threads, para
+ * comparar ambos modos con la misma concurrencia. Las diferencias se notan con
+ * concurrencias por encima del pool de Tomcat (200 hilos), por ejemplo
+ * {@code mvn -Pload-test test -Dload.concurrency=400}.
+ */
+@ActiveProfiles("virtual-threads")
+class VirtualThreadRestApiLoadTest extends RestApiLoadTest {
+
+  @Override
+  protected String mode() {
+    return "virtual-threads";
+  }
+}
@@ -0,0 +1,172 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingResponse;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.mapper.BookingMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@Import(BookingRepository.class)
+class BookingRepositoryTest {
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  private Long luisId;
+  private Long paidBookingId;
+
+  @BeforeEach
+  void setUp() {
+    UserEntity ana = user("ana", "ana@viajes.com");
+    UserEntity luis = user("luis", "luis@correo.com");
+    TravelEntity cartagena = travel("Cartagena", LocalDate.of(2025, 6, 10));
+    TravelEntity medellin = travel("Medellín", LocalDate.of(2025, 8, 1));
+    TravelEntity bogota = travel("Bogotá", LocalDate.of(2025, 12, 20));
+
+    booking("PENDING", ana, cartagena);
+    booking("CONFIRMED", ana, medellin);
+    booking("CONFIRMED", luis, cartagena);
+    paidBookingId = booking("PAID", luis, bogota).getId();
+    booking("CONFIRMED", luis, bogota);
+    luisId = luis.getId();
+
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void filterRunsASingleQueryAndOnlyLoadsMatchingRows() {
+    List<BookingEntity> result = bookingRepository.filter("confirmed", "LUIS@", null, null, null);
+
+    assertThat(result).hasSize(2)
+        .allSatisfy(booking -> {
+          assertThat(booking.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+          assertThat(booking.getUser().getEmail()).isEqualTo("luis@correo.com");
+          assertThat(booking.getTravel().getDestination()).isNotBlank();
+        });
+
+    // Una sola sentencia con user y travel unidos; solo se hidratan las filas
+    // que cumplen el filtro (2 reservas + 1 usuario + 2 viajes)
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isEqualTo(5);
+  }
+
+  @Test
+  void filterByDestinationAndDepartureRange() {
+    List<BookingEntity> result = bookingRepository.filter(null, null, "cart", LocalDate.of(2025, 1, 1),
+        LocalDate.of(2025, 6, 30));
+
+    assertThat(result).hasSize(2)
+        .allSatisfy(booking -> assertThat(booking.getTravel().getDestination()).isEqualTo("Cartagena"));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void blankStatusAndWildcardsAreNotTreatedAsFilters() {
+    assertThat(bookingRepository.filter("", null, null, null, null)).hasSize(5);
+    assertThat(bookingRepository.filter(null, "%", null, null, null)).isEmpty();
+  }
+
+  @Test
+  void resolvedUserIdReplacesTheEmailFilter() {
+    // Con el id resuelto el texto del correo se ignora
+    List<BookingEntity> result = bookingRepository.filter("confirmed", luisId, "no-coincide", null, null, null, null);
+
+    assertThat(result).hasSize(2)
+        .allSatisfy(booking -> assertThat(booking.getUser().getEmail()).isEqualTo("luis@correo.com"));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+    assertThat(bookingRepository.filter(null, null, "ana@", null, null, null, null)).hasSize(2);
+  }
+
+  @Test
+  void projectedRowsMapToTheSameResponsesWithoutLoadingEntities() {
+    BookingEntity paid = entityManager.find(BookingEntity.class, paidBookingId);
+    for (String amount : new String[] { "400.00", "600.00" }) {
+      PaymentEntity payment = new PaymentEntity();
+      payment.setAmount(new BigDecimal(amount));
+      payment.setPaymentDate(LocalDate.of(2025, 2, 1));
+      payment.setPaymentMethod("CREDIT_CARD");
+      payment.setBooking(paid);
+      entityManager.persist(payment);
+    }
+    entityManager.flush();
+    entityManager.clear();
+    statistics.clear();
+
+    BookingMapper mapper = new BookingMapper();
+    List<BookingResponse> fromRows = mapper.toResponses(bookingRepository.findAllRows());
+
+    // Una fila por pago (o por reserva sin pagos) y ninguna entidad hidratada
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(fromRows).hasSize(5);
+
+    List<BookingResponse> fromEntities = bookingRepository.findAll().stream().map(mapper::toResponse).toList();
+    assertThat(fromRows).usingRecursiveFieldByFieldElementComparator(
+        RecursiveComparisonConfiguration.builder().withIgnoreCollectionOrder(true).build())
+        .containsExactlyInAnyOrderElementsOf(fromEntities);
+
+    assertThat(mapper.toResponses(bookingRepository.findRowsByUserId(luisId))).hasSize(3)
+        .allSatisfy(booking -> assertThat(booking.getUser().getEmail()).isEqualTo("luis@correo.com"));
+  }
+
+  private UserEntity user(String username, String email) {
+    UserEntity user = new UserEntity();
+    user.setUsername(username);
+    user.setPassword("secret-password");
+    user.setName(username);
+    user.setSurname("Test");
+    user.setEmail(email);
+    return entityManager.persist(user);
+  }
+
+  private TravelEntity travel(String destination, LocalDate departureDate) {
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination(destination);
+    travel.setDepartureDate(departureDate);
+    travel.setReturnDate(departureDate.plusDays(5));
+    travel.setPrice(new BigDecimal("1000.00"));
+    return entityManager.persist(travel);
+  }
+
+  private BookingEntity booking(String status, UserEntity user, TravelEntity travel) {
+    BookingEntity booking = new BookingEntity();
+    booking.setStatus(BookingStatus.valueOf(status));
+    booking.setUser(user);
+    booking.setTravel(travel);
+    return entityManager.persist(booking);
+  }
+}
@@ -0,0 +1,139 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.IntFunction;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compara la inserción de reservas y pagos con lotes JDBC (configuración de
+ * la aplicación) y sin ellos (lote de 1, equivalente a lo que permitía
+ * IDENTITY). Verifica el número de sentencias y registra el throughput en el log.
+ */
+@DataJpaTest
+class InsertBatchingTest {
+
+  private static final Logger log = LoggerFactory.getLogger(InsertBatchingTest.class);
+
+  private static final int ROWS = 2000;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private UserEntity user;
+  private TravelEntity travel;
+  private BookingEntity booking;
+
+  @BeforeEach
+  void setUp() {
+    user = new UserEntity();
+    user.setUsername("lote");
+    user.setPassword("secret-password");
+    user.setName("Lote");
+    user.setSurname("Test");
+    user.setEmail("lote@viajes.com");
+    entityManager.persist(user);
+
+    travel = new TravelEntity();
+    travel.setDestination("Leticia");
+    travel.setDepartureDate(LocalDate.of(2025, 11, 1));
+    travel.setReturnDate(LocalDate.of(2025, 11, 5));
+    travel.setPrice(new BigDecimal("3000.00"));
+    entityManager.persist(travel);
+
+    booking = newBooking(0);
+    entityManager.persist(booking);
+    entityManager.flush();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void bookingInsertsAreBatched() {
+    long unbatched = insert("bookings", 1, this::newBooking);
+    long batched = insert("bookings", null, this::newBooking);
+
+    assertThat(unbatched).isGreaterThanOrEqualTo(ROWS);
+    assertThat(batched).isLessThan(ROWS / 10);
+  }
+
+  @Test
+  void paymentInsertsAreBatched() {
+    long unbatched = insert("payments", 1, this::newPayment);
+    long batched = insert("payments", null, this::newPayment);
+
+    assertThat(unbatched).isGreaterThanOrEqualTo(ROWS);
+    assertThat(batched).isLessThan(ROWS / 10);
+  }
+
+  /**
+   * Inserta ROWS entidades con el tamaño de lote indicado (null = el
+   * configurado) y devuelve cuántas sentencias se prepararon. Con lotes, una
+   * sola sentencia preparada se ejecuta una vez por cada lote.
+   */
+  private long insert(String label, Integer batchSize, IntFunction<Object> factory) {
+    Session session = entityManager.getEntityManager().unwrap(Session.class);
+    session.setJdbcBatchSize(batchSize);
+    statistics.clear();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ROWS; i++) {
+      session.persist(factory.apply(i));
+    }
+    session.flush();
+    long elapsed = System.nanoTime() - start;
+    session.clear();
+    session.setJdbcBatchSize(null);
+
+    // Las entidades de setUp quedan separadas tras clear(); se vuelven a adjuntar
+    user = session.getReference(UserEntity.class, user.getId());
+    travel = session.getReference(TravelEntity.class, travel.getId());
+    booking = session.getReference(BookingEntity.class, booking.getId());
+
+    long statements = statistics.getPrepareStatementCount();
+    log.info("{} insert (batch size {}): {} rows, {} prepared statements, {} rows/s", label,
+        batchSize == null ? "default" : batchSize, ROWS, statements, Math.round(ROWS / (elapsed / 1_000_000_000.0)));
+    return statements;
+  }
+
+  private BookingEntity newBooking(int i) {
+    BookingEntity newBooking = new BookingEntity();
+    newBooking.setStatus(BookingStatus.PENDING);
+    newBooking.setUser(user);
+    newBooking.setTravel(travel);
+    return newBooking;
+  }
+
+  private PaymentEntity newPayment(int i) {
+    PaymentEntity payment = new PaymentEntity();
+    payment.setAmount(new BigDecimal("1.00"));
+    payment.setPaymentDate(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+    payment.setPaymentMethod("CREDIT_CARD");
+    payment.setBooking(booking);
+    return payment;
+  }
+}
@@ -0,0 +1,128 @@
+package com.tdea.proyecto_final.construccion_de_software.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentCursor;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentResponse;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.PaymentEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.mapper.PaymentMapper;
+
+@DataJpaTest
+@Import(PaymentRepository.class)
+class PaymentRepositoryTest {
+
+  @Autowired
+  private PaymentRepository paymentRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @BeforeEach
+  void setUp() {
+    UserEntity user = new UserEntity();
+    user.setUsername("ana");
+    user.setPassword("secret-password");
+    user.setName("Ana");
+    user.setSurname("Test");
+    user.setEmail("ana@viajes.com");
+    entityManager.persist(user);
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Cartagena");
+    travel.setDepartureDate(LocalDate.of(2025, 6, 10));
+    travel.setReturnDate(LocalDate.of(2025, 6, 15));
+    travel.setPrice(new BigDecimal("10000.00"));
+    entityManager.persist(travel);
+
+    BookingEntity booking = new BookingEntity();
+    booking.setStatus(BookingStatus.CONFIRMED);
+    booking.setUser(user);
+    booking.setTravel(travel);
+    entityManager.persist(booking);
+
+    // Varios pagos comparten fecha para ejercitar el desempate por id
+    for (int i = 0; i < 7; i++) {
+      PaymentEntity payment = new PaymentEntity();
+      payment.setAmount(new BigDecimal(100 + i));
+      payment.setPaymentDate(LocalDate.of(2025, 1, 1 + i / 3));
+      payment.setPaymentMethod(i % 2 == 0 ? "CREDIT_CARD" : "BANK_TRANSFER");
+      payment.setBooking(booking);
+      entityManager.persist(payment);
+    }
+
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  void projectedRowsMapToTheSameResponsesAsTheEntities() {
+    PaymentMapper mapper = new PaymentMapper();
+    List<PaymentResponse> fromRows = paymentRepository.findAllRows().stream().map(mapper::toResponse).toList();
+    List<PaymentResponse> fromEntities = mapper.toResponseList(paymentRepository.findAll());
+
+    assertThat(fromRows).hasSize(7).containsExactlyInAnyOrderElementsOf(fromEntities);
+    Long bookingId = fromRows.get(0).getBookingId();
+    assertThat(paymentRepository.findRowsByBookingId(bookingId)).extracting(PaymentRow::paymentDate)
+        .isSortedAccordingTo(Comparator.reverseOrder());
+  }
+
+  @Test
+  void keysetPagesCoverEveryRowOnceInDescendingOrder() {
+    List<PaymentEntity> all = new ArrayList<>();
+    PaymentCursor cursor = null;
+    List<PaymentEntity> page;
+    do {
+      page = paymentRepository.filter(null, null, null, null, null, null, cursor, 3);
+      all.addAll(page);
+      if (!page.isEmpty()) {
+        PaymentEntity last = page.get(page.size() - 1);
+        cursor = new PaymentCursor(last.getPaymentDate(), last.getId());
+      }
+    } while (page.size() == 3);
+
+    assertThat(all).hasSize(7);
+    assertThat(all).extracting(PaymentEntity::getId).doesNotHaveDuplicates();
+    for (int i = 1; i < all.size(); i++) {
+      PaymentEntity previous = all.get(i - 1);
+      PaymentEntity current = all.get(i);
+      assertThat(current.getPaymentDate()).isBeforeOrEqualTo(previous.getPaymentDate());
+      if (current.getPaymentDate().equals(previous.getPaymentDate())) {
+        assertThat(current.getId()).isLessThan(previous.getId());
+      }
+    }
+  }
+
+  @Test
+  void filtersAreAppliedInTheQuery() {
+    List<PaymentEntity> result = paymentRepository.filter("ANA@", "credit_card", new BigDecimal("101"),
+        null, LocalDate.of(2025, 1, 2), null, null, 10);
+
+    assertThat(result).extracting(PaymentEntity::getAmount)
+        .containsExactly(new BigDecimal("106.00"), new BigDecimal("104.00"));
+  }
+
+  @Test
+  void cursorRoundTripsThroughItsToken() {
+    PaymentCursor cursor = new PaymentCursor(LocalDate.of(2025, 3, 4), 42L);
+
+    assertThat(PaymentCursor.decode(cursor.encode())).isEqualTo(cursor);
+    assertThat(PaymentCursor.decode(null)).isNull();
+  }
+}
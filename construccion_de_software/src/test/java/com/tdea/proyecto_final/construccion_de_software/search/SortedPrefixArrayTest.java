@@ -0,0 +1,37 @@
+package com.tdea.proyecto_final.construccion_de_software.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SortedPrefixArrayTest {
+
+  @Test
+  void prefixLookupIgnoresCaseAndAccentsAndKeepsTheOriginalText() {
+    SortedPrefixArray values = new SortedPrefixArray();
+    values.replaceAll(List.of("Bogotá", "Barranquilla", "Bucaramanga", "Santa Marta", "San Andrés"));
+
+    assertThat(values.top("b", 10)).containsExactly("Barranquilla", "Bogotá", "Bucaramanga");
+    assertThat(values.top("BOGOTA", 10)).containsExactly("Bogotá");
+    assertThat(values.top("san", 1)).containsExactly("San Andrés");
+    assertThat(values.top("x", 10)).isEmpty();
+    assertThat(values.find("san andres")).isEqualTo("San Andrés");
+    assertThat(values.find("san")).isNull();
+  }
+
+  @Test
+  void sharedValueStaysUntilItsLastReferenceIsRemoved() {
+    SortedPrefixArray values = new SortedPrefixArray();
+    values.add("Cartagena");
+    values.add("cartagena");
+    values.add("Cali");
+    assertThat(values.size()).isEqualTo(2);
+
+    values.remove("Cartagena");
+    assertThat(values.top("car", 10)).containsExactly("Cartagena");
+    values.remove("Cartagena");
+    assertThat(values.top("ca", 10)).containsExactly("Cali");
+  }
+}
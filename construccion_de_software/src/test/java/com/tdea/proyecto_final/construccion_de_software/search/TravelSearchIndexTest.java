@@ -0,0 +1,47 @@
+package com.tdea.proyecto_final.construccion_de_software.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.TravelSearchResult;
+
+class TravelSearchIndexTest {
+
+  private TravelSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    // Sin transacción activa los cambios se aplican de inmediato
+    index = new TravelSearchIndex(null);
+    index.put(1L, "Bogotá", "Museo del Oro y Monserrate");
+    index.put(2L, "San Andrés", "Playas y buceo en el Caribe");
+    index.put(3L, "Santa Marta", "Parque Tayrona");
+    index.put(4L, "Cartagena", "Ciudad amurallada, playas del Rosario");
+  }
+
+  @Test
+  void searchRanksPrefixAboveFuzzyAndItineraryMatches() {
+    assertThat(index.search("cartag", 10)).extracting(TravelSearchResult::id).containsExactly(4L);
+    // Una letra cambiada mientras se escribe
+    assertThat(index.search("cartajen", 10)).extracting(TravelSearchResult::id).containsExactly(4L);
+    assertThat(index.search("monserate", 10)).extracting(TravelSearchResult::id).containsExactly(1L);
+    // "playas" aparece en dos itinerarios; "caribe" solo en uno
+    assertThat(index.search("playas caribe", 10)).extracting(TravelSearchResult::id).containsExactly(2L);
+    assertThat(index.search("san", 10)).extracting(TravelSearchResult::destination)
+        .containsExactly("San Andrés", "Santa Marta");
+    assertThat(index.search("s", 1)).hasSize(1);
+  }
+
+  @Test
+  void updatesAndDeletesReplaceThePreviousText() {
+    index.put(4L, "Cali", "Salsa");
+    assertThat(index.search("cartagena", 10)).isEmpty();
+    assertThat(index.search("salsa", 10)).extracting(TravelSearchResult::id).containsExactly(4L);
+
+    index.remove(2L);
+    assertThat(index.search("andres", 10)).isEmpty();
+    assertThat(index.size()).isEqualTo(3);
+  }
+}
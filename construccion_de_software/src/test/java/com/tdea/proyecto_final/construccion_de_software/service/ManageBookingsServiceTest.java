@@ -0,0 +1,136 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentRequest;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+@SpringBootTest
+class ManageBookingsServiceTest {
+
+  @Autowired
+  private ManageBookingsService manageBookingsService;
+
+  @Autowired
+  private ManagePaymentsService managePaymentsService;
+
+  @Autowired
+  private ManageTravelsService manageTravelsService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Long userId;
+  private Long travelId;
+
+  @BeforeEach
+  void setUp() {
+    UserEntity user = new UserEntity();
+    user.setUsername("estados");
+    user.setPassword("secret-password");
+    user.setName("Ana");
+    user.setSurname("Test");
+    user.setEmail("estados@viajes.com");
+    userId = userRepository.save(user).getId();
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Leticia");
+    travel.setDepartureDate(LocalDate.of(2025, 9, 1));
+    travel.setReturnDate(LocalDate.of(2025, 9, 6));
+    travel.setPrice(new BigDecimal("500.00"));
+    travelId = travelRepository.save(travel).getId();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void statusChangesFollowTheTransitionTable() {
+    Long id = manageBookingsService.createBooking(new BookingRequest("pending", userId, travelId)).getId();
+    assertThat(manageBookingsService.updateBookingStatus(id, "CONFIRMED").getStatus())
+        .isEqualTo(BookingStatus.CONFIRMED);
+    // Repetir el estado actual no es un error
+    assertThat(manageBookingsService.updateBookingStatus(id, "confirmed").getStatus())
+        .isEqualTo(BookingStatus.CONFIRMED);
+
+    managePaymentsService.processPayment(new PaymentRequest(id, new BigDecimal("500.00"), "CREDIT_CARD"));
+    assertThatThrownBy(() -> manageBookingsService.updateBookingStatus(id, "PENDING"))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    assertThat(manageBookingsService.updateBookingStatus(id, "REFUNDED").getStatus())
+        .isEqualTo(BookingStatus.REFUNDED);
+
+    assertThatThrownBy(() -> manageBookingsService.updateBookingStatus(id, "LOST"))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+  }
+
+  @Test
+  void closedBookingsDoNotAcceptPayments() {
+    Long id = manageBookingsService.createBooking(new BookingRequest("PENDING", userId, travelId)).getId();
+    manageBookingsService.updateBookingStatus(id, "CANCELLED");
+
+    assertThatThrownBy(() -> managePaymentsService
+        .processPayment(new PaymentRequest(id, new BigDecimal("100.00"), "CREDIT_CARD")))
+        .hasMessageContaining("status: CANCELLED");
+    assertThat(manageBookingsService.filterBookings("cancelled", null, null, null, null)).hasSize(1);
+    assertThat(manageBookingsService.filterBookings("PENDING", null, null, null, null)).isEmpty();
+    assertThat(manageBookingsService.filterBookings("ARCHIVED", null, null, null, null)).isEmpty();
+  }
+
+  @Test
+  void closingOrDeletingABookingFreesItsSeat() {
+    TravelEntity travel = travelRepository.findById(travelId).orElseThrow();
+    travel.setCapacity(1);
+    manageTravelsService.updateTravel(travelId, travel);
+
+    Long first = manageBookingsService.createBooking(new BookingRequest("PENDING", userId, travelId)).getId();
+    assertThatThrownBy(() -> manageBookingsService.createBooking(new BookingRequest("PENDING", userId, travelId)))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    // Una reserva creada ya cerrada no ocupa cupo
+    manageBookingsService.createBooking(new BookingRequest("CANCELLED", userId, travelId));
+
+    manageBookingsService.updateBookingStatus(first, "REJECTED");
+    Long second = manageBookingsService.createBooking(new BookingRequest("PENDING", userId, travelId)).getId();
+    assertThat(travelRepository.findById(travelId).orElseThrow().getRemainingSeats()).isZero();
+
+    // Con el cupo ocupado la capacidad no puede bajar a cero
+    travel.setCapacity(0);
+    assertThatThrownBy(() -> manageTravelsService.updateTravel(travelId, travel))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+
+    manageBookingsService.deleteBooking(second);
+    assertThat(travelRepository.findById(travelId).orElseThrow().getRemainingSeats()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,141 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.config.PaymentMethodMigration;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentRequest;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentResponse;
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentSummaryResponse;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.job.PaymentBalanceReconciliationJob;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+@SpringBootTest
+class ManagePaymentsServiceTest {
+
+  @Autowired
+  private ManagePaymentsService managePaymentsService;
+
+  @Autowired
+  private PaymentBalanceReconciliationJob reconciliationJob;
+
+  @Autowired
+  private PaymentMethodMigration paymentMethodMigration;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Long bookingId;
+
+  @BeforeEach
+  void setUp() {
+    UserEntity user = new UserEntity();
+    user.setUsername("pagador");
+    user.setPassword("secret-password");
+    user.setName("Ana");
+    user.setSurname("Test");
+    user.setEmail("pagador@viajes.com");
+    user = userRepository.save(user);
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Cartagena");
+    travel.setDepartureDate(LocalDate.of(2025, 6, 10));
+    travel.setReturnDate(LocalDate.of(2025, 6, 15));
+    travel.setPrice(new BigDecimal("1000.00"));
+    travel = travelRepository.save(travel);
+
+    BookingEntity booking = new BookingEntity();
+    booking.setStatus(BookingStatus.PENDING);
+    booking.setUser(user);
+    booking.setTravel(travel);
+    bookingId = bookingRepository.save(booking).getId();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void paymentsAndCancellationsMaintainTheBookingBalance() {
+    managePaymentsService.processPayment(new PaymentRequest(bookingId, new BigDecimal("400.00"), "CREDIT_CARD"));
+    PaymentResponse last = managePaymentsService
+        .processPayment(new PaymentRequest(bookingId, new BigDecimal("600.00"), "BANK_TRANSFER"));
+
+    BookingEntity booking = bookingRepository.findById(bookingId).orElseThrow();
+    assertThat(booking.getPaidAmount()).isEqualByComparingTo("1000.00");
+    assertThat(booking.getStatus()).isEqualTo(BookingStatus.PAID);
+
+    // Una reserva pagada ya no admite pagos
+    assertThatThrownBy(() -> managePaymentsService
+        .processPayment(new PaymentRequest(bookingId, new BigDecimal("0.01"), "CREDIT_CARD")))
+        .hasMessageContaining("status: PAID");
+
+    managePaymentsService.cancelPayment(last.getId());
+
+    PaymentSummaryResponse summary = managePaymentsService.getPaymentSummary(bookingId);
+    assertThat(summary.getPaidAmount()).isEqualByComparingTo("400.00");
+    assertThat(summary.getRemainingAmount()).isEqualByComparingTo("600.00");
+    assertThat(summary.getPaymentStatus()).isEqualTo("PARTIAL");
+    assertThat(summary.getPayments()).hasSize(1);
+    assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+
+    // Confirmada con saldo pendiente: se puede volver a pagar, sin exceder el total
+    assertThatThrownBy(() -> managePaymentsService
+        .processPayment(new PaymentRequest(bookingId, new BigDecimal("600.01"), "CREDIT_CARD")))
+        .hasMessageContaining("exceeds remaining balance");
+    managePaymentsService.processPayment(new PaymentRequest(bookingId, new BigDecimal("600.00"), "DEBIT_CARD"));
+    assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus()).isEqualTo(BookingStatus.PAID);
+  }
+
+  @Test
+  void reconciliationRepairsADriftedBalance() {
+    managePaymentsService.processPayment(new PaymentRequest(bookingId, new BigDecimal("250.00"), "CREDIT_CARD"));
+    jdbcTemplate.update("UPDATE bookings SET paid_amount = 0 WHERE id = ?", bookingId);
+
+    assertThat(reconciliationJob.reconcile()).isEqualTo(1);
+    assertThat(bookingRepository.findById(bookingId).orElseThrow().getPaidAmount()).isEqualByComparingTo("250.00");
+    assertThat(reconciliationJob.reconcile()).isZero();
+  }
+
+  @Test
+  void legacyPaymentMethodsAreNormalizedAtStartup() {
+    PaymentResponse payment = managePaymentsService
+        .processPayment(new PaymentRequest(bookingId, new BigDecimal("250.00"), "credit_card"));
+    jdbcTemplate.update("UPDATE payments SET payment_method = ' credit_card' WHERE id = ?", payment.getId());
+
+    paymentMethodMigration.migrate();
+
+    assertThat(jdbcTemplate.queryForObject("SELECT payment_method FROM payments WHERE id = ?", String.class,
+        payment.getId())).isEqualTo("CREDIT_CARD");
+    assertThat(managePaymentsService.filterPayments(null, "credit_card", null, null, null, null)).hasSize(1);
+  }
+}
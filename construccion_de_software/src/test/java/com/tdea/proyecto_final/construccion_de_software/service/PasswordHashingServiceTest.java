@@ -0,0 +1,117 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Contrapresión del executor de BCrypt: con el único hilo ocupado y la cola
+ * llena, la siguiente petición recibe 503 sin esperar.
+ */
+class PasswordHashingServiceTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(1));
+  private final PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4),
+      executor, meterRegistry, Duration.ofSeconds(5));
+
+  @AfterEach
+  void shutDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void fullQueueIsRejectedImmediately() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    executor.execute(() -> await(release));
+    executor.execute(() -> await(release));
+
+    long start = System.nanoTime();
+    assertThatThrownBy(() -> service.encode("secret-password"))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+
+    release.countDown();
+    while (executor.getCompletedTaskCount() < 2) {
+      Thread.onSpinWait();
+    }
+    assertThat(service.matches("secret-password", service.encode("secret-password"))).isTrue();
+  }
+
+  @Test
+  void slowHashingTimesOut() {
+    PasswordHashingService impatient = new PasswordHashingService(new BCryptPasswordEncoder(4), executor,
+        meterRegistry, Duration.ofMillis(50));
+    CountDownLatch release = new CountDownLatch(1);
+    executor.execute(() -> await(release));
+
+    assertThatThrownBy(() -> impatient.matches("secret-password", "$2a$04$invalid"))
+        .isInstanceOf(ResponseStatusException.class);
+    release.countDown();
+  }
+
+  @Test
+  void unknownUserDelayDoesNotUseAHashingThread() {
+    CountDownLatch release = new CountDownLatch(1);
+    executor.execute(() -> await(release));
+
+    service.simulateVerification();
+
+    assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "unknown-user").timer().count())
+        .isEqualTo(1);
+    assertThat(executor.getQueue()).isEmpty();
+    release.countDown();
+  }
+
+  @Test
+  void unknownUserDelayIncludesTheQueueWaitOfARealVerification() throws Exception {
+    String encoded = service.encode("secret-password");
+    // El único hilo está ocupado, así que matches espera en cola unos 400 ms
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute(() -> {
+      started.countDown();
+      sleep(Duration.ofMillis(400));
+    });
+    started.await();
+    service.matches("secret-password", encoded);
+
+    service.simulateVerification();
+
+    // La media móvil pondera la muestra con 1/8: al menos 50 ms frente al
+    // milisegundo que tarda BCrypt con costo 4
+    assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "unknown-user").timer()
+        .totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(40);
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.PaymentRequest;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.BookingStatus;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.BookingRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+/**
+ * Prueba de estrés del bloqueo por reserva: muchos hilos pagando la misma
+ * reserva nunca superan el precio, y pagos a reservas distintas no se
+ * bloquean entre sí. Registra el throughput de cada escenario en el log.
+ */
+@SpringBootTest
+class PaymentConcurrencyTest {
+
+  private static final Logger log = LoggerFactory.getLogger(PaymentConcurrencyTest.class);
+
+  private static final int THREADS = 16;
+  private static final BigDecimal PRICE = new BigDecimal("1000.00");
+
+  @Autowired
+  private ManagePaymentsService managePaymentsService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM payments");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void concurrentPaymentsToOneBookingNeverOverpay() throws Exception {
+    Long bookingId = createBookings(1).get(0);
+    BigDecimal amount = new BigDecimal("10.00");
+    int attempts = 160;
+
+    AtomicInteger accepted = run("one booking", attempts, i -> bookingId, amount);
+
+    BookingEntity booking = bookingRepository.findById(bookingId).orElseThrow();
+    assertThat(accepted.get()).isEqualTo(100);
+    assertThat(booking.getPaidAmount()).isEqualByComparingTo(PRICE);
+    assertThat(sumOfPayments(bookingId)).isEqualByComparingTo(PRICE);
+    assertThat(booking.getStatus()).isEqualTo(BookingStatus.PAID);
+  }
+
+  @Test
+  void paymentsToDifferentBookingsRunInParallel() throws Exception {
+    List<Long> bookingIds = createBookings(THREADS);
+    BigDecimal amount = new BigDecimal("50.00");
+    int attempts = THREADS * 20;
+
+    AtomicInteger accepted = run("many bookings", attempts, i -> bookingIds.get(i % bookingIds.size()), amount);
+
+    assertThat(accepted.get()).isEqualTo(attempts);
+    for (Long bookingId : bookingIds) {
+      assertThat(bookingRepository.findById(bookingId).orElseThrow().getPaidAmount()).isEqualByComparingTo(PRICE);
+      assertThat(sumOfPayments(bookingId)).isEqualByComparingTo(PRICE);
+    }
+  }
+
+  private AtomicInteger run(String scenario, int attempts, IntFunction<Long> bookingFor,
+      BigDecimal amount) throws Exception {
+    AtomicInteger accepted = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 0; i < attempts; i++) {
+      Long bookingId = bookingFor.apply(i);
+      tasks.add(() -> {
+        try {
+          managePaymentsService.processPayment(new PaymentRequest(bookingId, amount, "CREDIT_CARD"));
+          accepted.incrementAndGet();
+        } catch (RuntimeException e) {
+          // Antes de completar el saldo se rechaza por exceso; ya pagada, por su estado
+          assertThat(e.getMessage()).containsAnyOf("exceeds remaining balance", "status: PAID");
+        }
+        return null;
+      });
+    }
+
+    long start = System.nanoTime();
+    try {
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+    log.info("[payments stress] {}: {} attempts, {} accepted, {} payments/s",
+        scenario, attempts, accepted.get(), Math.round(attempts / seconds));
+    return accepted;
+  }
+
+  private List<Long> createBookings(int count) {
+    UserEntity user = new UserEntity();
+    user.setUsername("stress");
+    user.setPassword("secret-password");
+    user.setName("Stress");
+    user.setSurname("Test");
+    user.setEmail("stress@viajes.com");
+    user = userRepository.save(user);
+
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("Cartagena");
+    travel.setDepartureDate(LocalDate.of(2025, 6, 10));
+    travel.setReturnDate(LocalDate.of(2025, 6, 15));
+    travel.setPrice(PRICE);
+    travel = travelRepository.save(travel);
+
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      BookingEntity booking = new BookingEntity();
+      booking.setStatus(BookingStatus.PENDING);
+      booking.setUser(user);
+      booking.setTravel(travel);
+      ids.add(bookingRepository.save(booking).getId());
+    }
+    return ids;
+  }
+
+  private BigDecimal sumOfPayments(Long bookingId) {
+    return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM payments WHERE booking_id = ?",
+        BigDecimal.class, bookingId);
+  }
+}
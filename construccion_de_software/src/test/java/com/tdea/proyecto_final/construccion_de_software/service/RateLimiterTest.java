@@ -0,0 +1,83 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+  private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+  private final MockEnvironment environment = new MockEnvironment()
+      .withProperty("app.rate-limit.login-user.capacity", "3")
+      .withProperty("app.rate-limit.login-user.refill-period", "30s");
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RateLimiter rateLimiter = new RateLimiter(environment, meterRegistry, now::get);
+
+  @Test
+  void burstUpToCapacityThenOneTokenPerInterval() {
+    for (int i = 0; i < 3; i++) {
+      rateLimiter.acquire("login-user", "ana");
+    }
+    assertThatThrownBy(() -> rateLimiter.acquire("login-user", "ana"))
+        .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+          assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+          assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        });
+
+    // Otra clave tiene su propio bucket
+    assertThatCode(() -> rateLimiter.acquire("login-user", "luis")).doesNotThrowAnyException();
+
+    // Cada 10 s (30 s / 3) se recupera un token
+    now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertThatCode(() -> rateLimiter.acquire("login-user", "ana")).doesNotThrowAnyException();
+    assertThatThrownBy(() -> rateLimiter.acquire("login-user", "ana")).isInstanceOf(ResponseStatusException.class);
+
+    assertThat(meterRegistry.get("rate.limiter.requests").tag("result", "allowed").counter().count())
+        .isEqualTo(5);
+    assertThat(meterRegistry.get("rate.limiter.requests").tag("result", "rejected").counter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void unconfiguredPolicyDoesNotLimit() {
+    for (int i = 0; i < 100; i++) {
+      rateLimiter.acquire("search-ip", "10.0.0.1");
+    }
+  }
+
+  @Test
+  void concurrentCallersNeverExceedCapacity() throws Exception {
+    AtomicInteger allowed = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      for (int i = 0; i < 200; i++) {
+        executor.execute(() -> {
+          try {
+            rateLimiter.acquire("login-user", "ana");
+            allowed.incrementAndGet();
+          } catch (ResponseStatusException e) {
+            // rechazado
+          }
+        });
+      }
+    } finally {
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+    assertThat(allowed.get()).isEqualTo(3);
+  }
+}
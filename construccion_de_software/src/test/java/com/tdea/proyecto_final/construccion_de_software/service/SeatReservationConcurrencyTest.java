@@ -0,0 +1,153 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.TravelRepository;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+/**
+ * Prueba de estrés de los cupos: muchos hilos reservando el mismo viaje nunca
+ * superan su capacidad, y reservas de viajes distintos no compiten entre sí.
+ * Registra en el log las reservas por segundo de cada escenario.
+ */
+@SpringBootTest
+class SeatReservationConcurrencyTest {
+
+  private static final Logger log = LoggerFactory.getLogger(SeatReservationConcurrencyTest.class);
+
+  private static final int THREADS = 16;
+
+  @Autowired
+  private ManageBookingsService manageBookingsService;
+
+  @Autowired
+  private ManageTravelsService manageTravelsService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TravelRepository travelRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Long userId;
+
+  @BeforeEach
+  void setUp() {
+    UserEntity user = new UserEntity();
+    user.setUsername("cupos");
+    user.setPassword("secret-password");
+    user.setName("Cupos");
+    user.setSurname("Test");
+    user.setEmail("cupos@viajes.com");
+    userId = userRepository.save(user).getId();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void concurrentBookingsOfOneTravelNeverExceedItsCapacity() throws Exception {
+    Long travelId = createTravels(1, 50).get(0);
+
+    AtomicInteger accepted = run("one travel", 400, i -> travelId);
+
+    assertThat(accepted.get()).isEqualTo(50);
+    assertThat(bookingsOf(travelId)).isEqualTo(50);
+    assertThat(travelRepository.findById(travelId).orElseThrow().getRemainingSeats()).isZero();
+  }
+
+  @Test
+  void bookingsOfDifferentTravelsRunInParallel() throws Exception {
+    List<Long> travelIds = createTravels(THREADS, 50);
+    int attempts = THREADS * 50;
+
+    AtomicInteger accepted = run("many travels", attempts, i -> travelIds.get(i % travelIds.size()));
+
+    assertThat(accepted.get()).isEqualTo(attempts);
+    for (Long travelId : travelIds) {
+      assertThat(bookingsOf(travelId)).isEqualTo(50);
+      assertThat(travelRepository.findById(travelId).orElseThrow().getRemainingSeats()).isZero();
+    }
+  }
+
+  private AtomicInteger run(String scenario, int attempts, IntFunction<Long> travelFor) throws Exception {
+    AtomicInteger accepted = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 0; i < attempts; i++) {
+      Long travelId = travelFor.apply(i);
+      tasks.add(() -> {
+        try {
+          manageBookingsService.createBooking(new BookingRequest("PENDING", userId, travelId));
+          accepted.incrementAndGet();
+        } catch (ResponseStatusException e) {
+          assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        }
+        return null;
+      });
+    }
+
+    long start = System.nanoTime();
+    try {
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+    log.info("[seats stress] {}: {} attempts, {} accepted, {} bookings/s",
+        scenario, attempts, accepted.get(), Math.round(attempts / seconds));
+    return accepted;
+  }
+
+  private List<Long> createTravels(int count, int capacity) {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      TravelEntity travel = new TravelEntity();
+      travel.setDestination("Capurganá " + i);
+      travel.setDepartureDate(LocalDate.of(2025, 12, 1));
+      travel.setReturnDate(LocalDate.of(2025, 12, 6));
+      travel.setPrice(new BigDecimal("800.00"));
+      travel.setCapacity(capacity);
+      ids.add(manageTravelsService.createTravel(travel).getId());
+    }
+    return ids;
+  }
+
+  private long bookingsOf(Long travelId) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE travel_id = ?", Long.class, travelId);
+  }
+}
@@ -0,0 +1,73 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+
+class TokenServiceTest {
+
+  private static final String SECRET = Base64.getEncoder()
+      .encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+  private static final Instant NOW = Instant.parse("2025-06-01T10:00:00Z");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final TokenService tokenService = service(NOW);
+
+  @Test
+  void issuedTokenCarriesTheUserAndRole() {
+    String token = tokenService.issue(user()).token();
+
+    TokenService.Claims claims = tokenService.parse(token).orElseThrow();
+    assertThat(claims.userId()).isEqualTo(7L);
+    assertThat(claims.username()).isEqualTo("admin");
+    assertThat(claims.rol()).isEqualTo("ADMIN");
+    assertThat(claims.expiresAt()).isEqualTo(NOW.plus(Duration.ofHours(1)).getEpochSecond());
+  }
+
+  @Test
+  void expiredTokenIsRejected() {
+    String token = tokenService.issue(user()).token();
+
+    assertThat(service(NOW.plus(Duration.ofHours(1))).parse(token)).isEmpty();
+  }
+
+  @Test
+  void tamperedOrUnsignedTokensAreRejected() {
+    String token = tokenService.issue(user()).token();
+    String[] parts = token.split("\\.");
+    String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+        "{\"sub\":1,\"username\":\"x\",\"rol\":\"ADMIN\",\"iat\":0,\"exp\":9999999999}"
+            .getBytes(StandardCharsets.US_ASCII));
+    String noneHeader = Base64.getUrlEncoder().withoutPadding().encodeToString(
+        "{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+
+    assertThat(tokenService.parse(parts[0] + "." + forgedPayload + "." + parts[2])).isEmpty();
+    assertThat(tokenService.parse(noneHeader + "." + parts[1] + ".")).isEmpty();
+    assertThat(tokenService.parse("not-a-token")).isEmpty();
+    assertThat(new TokenService(objectMapper, Base64.getEncoder().encodeToString(new byte[32]), Duration.ofHours(1),
+        Clock.fixed(NOW, ZoneOffset.UTC)).parse(token)).isEmpty();
+  }
+
+  private TokenService service(Instant now) {
+    return new TokenService(objectMapper, SECRET, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+  }
+
+  private static UserEntity user() {
+    UserEntity user = new UserEntity();
+    user.setId(7L);
+    user.setUsername("admin");
+    user.setName("Admin");
+    user.setRol("ADMIN");
+    return user;
+  }
+}
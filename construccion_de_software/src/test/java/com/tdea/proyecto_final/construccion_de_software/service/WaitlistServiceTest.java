@@ -0,0 +1,208 @@
+package com.tdea.proyecto_final.construccion_de_software.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tdea.proyecto_final.construccion_de_software.dto.BookingRequest;
+import com.tdea.proyecto_final.construccion_de_software.entity.TravelEntity;
+import com.tdea.proyecto_final.construccion_de_software.entity.UserEntity;
+import com.tdea.proyecto_final.construccion_de_software.repository.UserRepository;
+
+@SpringBootTest
+class WaitlistServiceTest {
+
+  @Autowired
+  private WaitlistService waitlistService;
+
+  @Autowired
+  private ManageBookingsService manageBookingsService;
+
+  @Autowired
+  private ManageTravelsService manageTravelsService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM waitlist_entries");
+    jdbcTemplate.update("DELETE FROM bookings");
+    jdbcTemplate.update("DELETE FROM travels");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  @Test
+  void freedSeatsGoToTheWaitingCustomersInArrivalOrder() throws InterruptedException {
+    Long travelId = travel(2).getId();
+    Long ana = user("ana");
+    Long bruno = user("bruno");
+    Long carla = user("carla");
+    Long diego = user("diego");
+    Long elena = user("elena");
+
+    // Con cupos libres se reserva directamente
+    assertThatThrownBy(() -> waitlistService.join(travelId, carla))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+
+    Long anaBooking = manageBookingsService.createBooking(new BookingRequest("PENDING", ana, travelId)).getId();
+    Long brunoBooking = manageBookingsService.createBooking(new BookingRequest("ON_HOLD", bruno, travelId))
+        .getId();
+
+    assertThat(waitlistService.join(travelId, carla).position()).isEqualTo(1);
+    assertThat(waitlistService.join(travelId, diego).position()).isEqualTo(2);
+    assertThat(waitlistService.join(travelId, elena).position()).isEqualTo(3);
+    // Volver a entrar no cambia el puesto
+    assertThat(waitlistService.join(travelId, carla).position()).isEqualTo(1);
+
+    waitlistService.leave(travelId, diego);
+    assertThat(waitlistService.position(travelId, elena).position()).isEqualTo(2);
+
+    manageBookingsService.updateBookingStatus(anaBooking, "CANCELLED");
+    manageBookingsService.updateBookingStatus(brunoBooking, "REJECTED");
+
+    awaitWaiting(travelId, 0);
+    assertThat(pendingBookingUsers(travelId)).containsExactly(carla, elena);
+    assertThat(remainingSeats(travelId)).isZero();
+    assertThatThrownBy(() -> waitlistService.position(travelId, carla))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+  }
+
+  @Test
+  void raisingTheCapacityPromotesSeveralAtOnce() throws InterruptedException {
+    TravelEntity travel = travel(1);
+    Long travelId = travel.getId();
+    manageBookingsService.createBooking(new BookingRequest("CONFIRMED", user("ana"), travelId));
+    Long bruno = user("bruno");
+    Long carla = user("carla");
+    Long diego = user("diego");
+    waitlistService.join(travelId, bruno);
+    waitlistService.join(travelId, carla);
+    waitlistService.join(travelId, diego);
+
+    travel.setCapacity(3);
+    manageTravelsService.updateTravel(travelId, travel);
+
+    awaitWaiting(travelId, 1);
+    assertThat(pendingBookingUsers(travelId)).containsExactlyInAnyOrder(bruno, carla);
+    assertThat(waitlistService.position(travelId, diego).position()).isEqualTo(1);
+    assertThat(remainingSeats(travelId)).isZero();
+  }
+
+  @Test
+  void directBookingsRacingThePromotionDoNotTakeTheFreedSeat() throws Exception {
+    Long travelId = travel(1).getId();
+    Long anaBooking = manageBookingsService.createBooking(new BookingRequest("CONFIRMED", user("ana"), travelId))
+        .getId();
+    Long carla = user("carla");
+    waitlistService.join(travelId, carla);
+    List<Long> others = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      others.add(user("directo" + i));
+    }
+
+    // Las reservas directas salen junto con la cancelación, antes o durante la
+    // promoción asíncrona del cupo liberado
+    ExecutorService executor = Executors.newFixedThreadPool(others.size());
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<Integer>> tasks = new ArrayList<>();
+    for (Long userId : others) {
+      tasks.add(() -> {
+        start.await();
+        try {
+          manageBookingsService.createBooking(new BookingRequest("PENDING", userId, travelId));
+          return HttpStatus.OK.value();
+        } catch (ResponseStatusException e) {
+          return e.getStatusCode().value();
+        }
+      });
+    }
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      tasks.forEach(task -> results.add(executor.submit(task)));
+      manageBookingsService.updateBookingStatus(anaBooking, "CANCELLED");
+      start.countDown();
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isEqualTo(HttpStatus.CONFLICT.value());
+      }
+    } catch (ExecutionException e) {
+      throw new AssertionError(e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+
+    awaitWaiting(travelId, 0);
+    assertThat(pendingBookingUsers(travelId)).containsExactly(carla);
+    assertThat(remainingSeats(travelId)).isZero();
+
+    // Con la fila vacía se vuelve a reservar directamente
+    assertThatThrownBy(() -> manageBookingsService
+        .createBooking(new BookingRequest("PENDING", others.get(0), travelId)))
+        .hasMessageContaining("No seats left");
+  }
+
+  private void awaitWaiting(Long travelId, int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (waiting(travelId) != expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(waiting(travelId)).isEqualTo(expected);
+  }
+
+  private int waiting(Long travelId) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM waitlist_entries WHERE travel_id = ?",
+        Integer.class, travelId);
+  }
+
+  private List<Long> pendingBookingUsers(Long travelId) {
+    return jdbcTemplate.queryForList(
+        "SELECT user_id FROM bookings WHERE travel_id = ? AND status = 'PENDING' ORDER BY id", Long.class, travelId);
+  }
+
+  private Integer remainingSeats(Long travelId) {
+    return jdbcTemplate.queryForObject("SELECT remaining_seats FROM travels WHERE id = ?", Integer.class, travelId);
+  }
+
+  private Long user(String username) {
+    UserEntity user = new UserEntity();
+    user.setUsername(username);
+    user.setPassword("secret-password");
+    user.setName(username);
+    user.setSurname("Test");
+    user.setEmail(username + "@viajes.com");
+    return userRepository.save(user).getId();
+  }
+
+  private TravelEntity travel(int capacity) {
+    TravelEntity travel = new TravelEntity();
+    travel.setDestination("San Andrés");
+    travel.setDepartureDate(LocalDate.of(2025, 12, 20));
+    travel.setReturnDate(LocalDate.of(2025, 12, 27));
+    travel.setPrice(new BigDecimal("900.00"));
+    travel.setCapacity(capacity);
+    return manageTravelsService.createTravel(travel);
+  }
+}